@@ -0,0 +1,31 @@
+package com.bank.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Takes the usual JMH command line (e.g. a benchmark regex,
+ * {@code -f}, {@code -wi}) and always adds the GC profiler, so every result comes with
+ * {@code gc.alloc.rate.norm} (bytes allocated per operation) next to the timing.
+ * <pre>
+ * mvn -Pbenchmarks -pl sp01-benchmarks -am package
+ * java -jar sp01-benchmarks/target/benchmarks.jar RequestWrappingFilter
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
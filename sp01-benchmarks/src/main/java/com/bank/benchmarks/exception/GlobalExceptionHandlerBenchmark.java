@@ -0,0 +1,66 @@
+package com.bank.benchmarks.exception;
+
+import com.bank.exception.handler.GlobalExceptionHandler;
+import com.bank.exception.model.BusinessException;
+import com.bank.exception.model.TechnicalException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error response building, including creating the exception, as a failing request pays for both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/accounts/transfer");
+
+    @Benchmark
+    public ResponseEntity<?> businessException() {
+        return handler.handleBusinessException(new BusinessException(BenchmarkError.INSUFFICIENT_BALANCE), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> technicalException() {
+        return handler.handleTechnicalException(new TechnicalException(BenchmarkError.DOWNSTREAM_UNAVAILABLE), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> missingRequestParam() {
+        return handler.handleMissingRequestParam(new MissingServletRequestParameterException("amount", "Double"),
+                request);
+    }
+
+    private enum BenchmarkError implements com.bank.exception.model.Error {
+        INSUFFICIENT_BALANCE("Insufficient balance in the source account"),
+        DOWNSTREAM_UNAVAILABLE("KYC service is not reachable");
+
+        private final String errorMessage;
+
+        BenchmarkError(String errorMessage) {
+            this.errorMessage = errorMessage;
+        }
+
+        @Override
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+    }
+}
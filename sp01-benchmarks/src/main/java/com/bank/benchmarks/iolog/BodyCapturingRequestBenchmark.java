@@ -0,0 +1,76 @@
+package com.bank.benchmarks.iolog;
+
+import com.bank.benchmarks.BenchmarkPayloads;
+import com.bank.iolog.filter.BodyCapturingHttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading a request body through the capturing wrapper (the successor of the old
+ * CachedBodyHttpServletRequest) compared with reading it directly, for bodies below and above the
+ * 16 KiB default capture limit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BodyCapturingRequestBenchmark {
+
+    private static final int CAPTURE_LIMIT = 16 * 1024;
+
+    @Param({"256", "4096", "65536", "1048576"})
+    public int bodySize;
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        body = BenchmarkPayloads.json(bodySize).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void direct(Blackhole blackhole) throws IOException {
+        blackhole.consume(request().getInputStream().readAllBytes());
+    }
+
+    @Benchmark
+    public void captured(Blackhole blackhole) throws IOException {
+        BodyCapturingHttpServletRequest request = new BodyCapturingHttpServletRequest(request(), CAPTURE_LIMIT);
+        blackhole.consume(request.getInputStream().readAllBytes());
+        blackhole.consume(request.getCapturedBody());
+    }
+
+    // handler never reads the body, the logger pulls only the captured prefix
+    @Benchmark
+    public String capturedUnread() {
+        BodyCapturingHttpServletRequest request = new BodyCapturingHttpServletRequest(request(), CAPTURE_LIMIT);
+        request.completeCapture();
+        return request.getCapturedBody();
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/kyc");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        request.setContent(body);
+        return request;
+    }
+}
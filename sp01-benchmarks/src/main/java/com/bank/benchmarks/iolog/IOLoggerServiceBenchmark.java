@@ -0,0 +1,80 @@
+package com.bank.benchmarks.iolog;
+
+import com.bank.benchmarks.BenchmarkPayloads;
+import com.bank.iolog.config.IOLoggerProperties;
+import com.bank.iolog.enums.LogTier;
+import com.bank.iolog.metrics.IOLoggerMetrics;
+import com.bank.iolog.redact.PayloadRedactor;
+import com.bank.iolog.service.IOLoggerService;
+import com.bank.iolog.sink.InMemoryIOLogSink;
+import com.bank.iolog.writer.SyncIOLogWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry building in {@link IOLoggerService}: header serialization, redaction and the hand-off to the
+ * writer, for the string-payload path (HTTP, Rabbit outbound) and the legacy path that serializes a
+ * response object with Jackson.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IOLoggerServiceBenchmark {
+
+    @Param({"256", "4096", "65536"})
+    public int payloadSize;
+
+    @Param({"true", "false"})
+    public boolean redaction;
+
+    private IOLoggerService service;
+    private InMemoryIOLogSink sink;
+    private String payload;
+    private Map<String, Object> responseObject;
+    private Map<String, String> headers;
+
+    @Setup
+    public void setUp() {
+        IOLoggerProperties.Redaction rules = new IOLoggerProperties.Redaction();
+        PayloadRedactor redactor = redaction
+                ? new PayloadRedactor(rules.getFields(), List.of(), rules.getHeaders(), rules.getMask())
+                : PayloadRedactor.none();
+        sink = new InMemoryIOLogSink(1024);
+        service = new IOLoggerService(new SyncIOLogWriter(sink), IOLoggerMetrics.noop(), redactor);
+        payload = BenchmarkPayloads.json(payloadSize);
+        responseObject = Map.of("status", "CREATED", "body", payload);
+        headers = BenchmarkPayloads.headers();
+    }
+
+    @Benchmark
+    public int httpOutbound() {
+        service.logHttpOutboundResponse(payload, false, "65f1c2a09b3e4d5f8a7b6c5d4e3f2a1b", "benchmark",
+                "POST /api/v1/accounts", 201, headers, LogTier.FULL);
+        return sink.size();
+    }
+
+    // the deprecated object path, kept as the baseline for the publish-time logging
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public int rabbitOutboundObject() {
+        service.logRabbitOutboundResponse(responseObject, "65f1c2a09b3e4d5f8a7b6c5d4e3f2a1b", "benchmark",
+                "Exchange: bank : RoutingKey: account.created", null, headers);
+        return sink.size();
+    }
+}
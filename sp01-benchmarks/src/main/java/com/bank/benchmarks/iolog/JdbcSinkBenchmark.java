@@ -0,0 +1,141 @@
+package com.bank.benchmarks.iolog;
+
+import com.bank.benchmarks.BenchmarkPayloads;
+import com.bank.iolog.entity.IOLogEntry;
+import com.bank.iolog.enums.ChannelType;
+import com.bank.iolog.enums.IOType;
+import com.bank.iolog.sink.JdbcBatchIOLogSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second into {@code io_log_entries} on an in-memory H2 database in MySQL mode:
+ * {@link JdbcBatchIOLogSink} multi-row inserts against one INSERT plus generated-key fetch per row,
+ * which is what {@code IOLogEntryRepository.save} issues with IDENTITY ids (without the JPA overhead
+ * on top, so the real gap is larger). Network round trips are absent here, so absolute numbers are
+ * only comparable with each other.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JdbcSinkBenchmark {
+
+    private static final int BATCH_SIZE = 200;
+    private static final String SINGLE_INSERT = "INSERT INTO io_log_entries "
+            + "(trace_id, source_application, resource, io_type, communication_channel, header, payload, "
+            + "payload_truncated, http_status, timestamp) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Param({"1", "50"})
+    public int rowsPerStatement;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private JdbcBatchIOLogSink sink;
+    private List<IOLogEntry> batch;
+
+    @Setup
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:iolog;MODE=MySQL;DB_CLOSE_DELAY=-1", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS io_log_entries (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    trace_id VARCHAR(32) NOT NULL,
+                    source_application VARCHAR(100) NOT NULL,
+                    resource VARCHAR(255) NOT NULL,
+                    io_type VARCHAR(10) NOT NULL,
+                    communication_channel VARCHAR(10) NOT NULL,
+                    header LONGTEXT,
+                    payload LONGTEXT,
+                    header_data LONGBLOB,
+                    payload_data LONGBLOB,
+                    header_hash VARCHAR(64),
+                    payload_hash VARCHAR(64),
+                    payload_truncated BOOLEAN,
+                    http_status INT,
+                    timestamp TIMESTAMP(6) NOT NULL
+                )""");
+        sink = new JdbcBatchIOLogSink(jdbcTemplate, rowsPerStatement);
+
+        String payload = BenchmarkPayloads.json(1024);
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(IOLogEntry.builder()
+                    .traceId("65f1c2a09b3e4d5f8a7b6c5d4e3f2a1b")
+                    .sourceApplication("benchmark")
+                    .resource("POST /api/v1/accounts")
+                    .ioType(i % 2 == 0 ? IOType.INBOUND : IOType.OUTBOUND)
+                    .communicationChannel(ChannelType.REST)
+                    .header("{\"Content-Type\":\"application/json\"}")
+                    .payload(payload)
+                    .payloadTruncated(false)
+                    .httpStatus(201)
+                    .timestamp(Instant.now())
+                    .build());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE TABLE io_log_entries");
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void multiRowInsert() {
+        sink.write(batch);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void perRowInsertWithGeneratedKey() {
+        for (IOLogEntry entry : batch) {
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(SINGLE_INSERT, Statement.RETURN_GENERATED_KEYS);
+                ps.setString(1, entry.getTraceId());
+                ps.setString(2, entry.getSourceApplication());
+                ps.setString(3, entry.getResource());
+                ps.setString(4, entry.getIoType().name());
+                ps.setString(5, entry.getCommunicationChannel().name());
+                ps.setString(6, entry.getHeader());
+                ps.setString(7, entry.getPayload());
+                ps.setBoolean(8, entry.getPayloadTruncated());
+                ps.setInt(9, entry.getHttpStatus());
+                ps.setTimestamp(10, Timestamp.from(entry.getTimestamp()));
+                return ps;
+            }, keyHolder);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.bank.benchmarks.iolog;
+
+import com.bank.benchmarks.BenchmarkPayloads;
+import com.bank.iolog.codec.DictionaryTrainer;
+import com.bank.iolog.codec.PayloadCodec;
+import com.bank.iolog.codec.PayloadDictionary;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write and read cost of the header/payload codec, with and without a trained dictionary. The
+ * {@code rawBytes} and {@code storedBytes} counters give the bytes-on-disk ratio for each setting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadCodecBenchmark {
+
+    @Param({"512", "4096", "32768"})
+    public int payloadSize;
+
+    @Param({"false", "true"})
+    public boolean dictionary;
+
+    private PayloadCodec codec;
+    private String payload;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        List<String> samples = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            samples.add(BenchmarkPayloads.json(512 + i * 16));
+        }
+        PayloadDictionary trained = dictionary ? DictionaryTrainer.train(samples, 16 * 1024) : null;
+        codec = new PayloadCodec(6, 256, trained);
+        payload = BenchmarkPayloads.json(payloadSize);
+        encoded = codec.encode(payload);
+    }
+
+    @Benchmark
+    public byte[] encode(StoredSize size) {
+        byte[] result = codec.encode(payload);
+        size.rawBytes += payload.getBytes(StandardCharsets.UTF_8).length;
+        size.storedBytes += result.length;
+        return result;
+    }
+
+    @Benchmark
+    public String decode() {
+        return PayloadCodec.decode(encoded);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StoredSize {
+
+        public long rawBytes;
+        public long storedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rawBytes = 0;
+            storedBytes = 0;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.bank.benchmarks.iolog;
+
+import com.bank.benchmarks.BenchmarkPayloads;
+import com.bank.iolog.config.IOLoggerProperties;
+import com.bank.iolog.redact.PayloadRedactor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming redaction with the default rules plus a path rule, against the tree-based approach
+ * (read the whole body into a {@link JsonNode}, mask, write it back) it is meant to beat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadRedactorBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({"1024", "16384", "262144"})
+    public int payloadSize;
+
+    private PayloadRedactor redactor;
+    private Set<String> fields;
+    private String payload;
+
+    @Setup
+    public void setUp() {
+        IOLoggerProperties.Redaction rules = new IOLoggerProperties.Redaction();
+        redactor = new PayloadRedactor(rules.getFields(), List.of("$.customers[*].email"), rules.getHeaders(),
+                rules.getMask());
+        fields = Set.copyOf(rules.getFields());
+        payload = BenchmarkPayloads.json(payloadSize);
+    }
+
+    @Benchmark
+    public String streaming() {
+        return redactor.redact(payload);
+    }
+
+    @Benchmark
+    public String tree() throws Exception {
+        JsonNode root = MAPPER.readTree(payload);
+        maskTree(root);
+        return MAPPER.writeValueAsString(root);
+    }
+
+    private void maskTree(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            object.fieldNames().forEachRemaining(name -> {
+                if (fields.contains(name) || "email".equals(name)) {
+                    object.put(name, "***");
+                }
+            });
+        }
+        node.forEach(this::maskTree);
+    }
+}
@@ -0,0 +1,97 @@
+package com.bank.benchmarks.iolog;
+
+import com.bank.benchmarks.BenchmarkPayloads;
+import com.bank.iolog.aspect.RabbitInboundLoggerAspect;
+import com.bank.iolog.config.IOLoggerProperties;
+import com.bank.iolog.metrics.IOLoggerMetrics;
+import com.bank.iolog.policy.IOLogPolicy;
+import com.bank.iolog.service.IOLoggerService;
+import com.bank.iolog.sink.InMemoryIOLogSink;
+import com.bank.iolog.writer.SyncIOLogWriter;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listener advice around one delivery. The aspect replaced the former {@code parseJsonSafely}
+ * pretty-printing with a raw, capped body copy, so this measures what every consumed message now pays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RabbitInboundAspectBenchmark {
+
+    @Param({"256", "4096", "65536"})
+    public int bodySize;
+
+    private RabbitInboundLoggerAspect aspect;
+    private Message message;
+
+    @Setup
+    public void setUp() {
+        IOLoggerService service = new IOLoggerService(new SyncIOLogWriter(new InMemoryIOLogSink(1024)));
+        aspect = new RabbitInboundLoggerAspect(service, IOLogPolicy.logEverything(), "benchmark",
+                new IOLoggerProperties.Capture().getMaxMessageBodyBytes(), IOLoggerMetrics.noop());
+
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setConsumerQueue("account.created");
+        properties.setHeader("traceId", "65f1c2a09b3e4d5f8a7b6c5d4e3f2a1b");
+        properties.setHeader("__TypeId__", "com.bank.models.account.AccountCreatedEvent");
+        message = new Message(BenchmarkPayloads.json(bodySize).getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    @Benchmark
+    public Object invoke() throws Throwable {
+        return aspect.invoke(new ListenerInvocation(message));
+    }
+
+    // stands in for the container's call into the listener adapter
+    private record ListenerInvocation(Message message) implements MethodInvocation {
+
+        @Override
+        public Method getMethod() {
+            return null;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return new Object[]{null, message};
+        }
+
+        @Override
+        public Object proceed() {
+            return message.getBody().length;
+        }
+
+        @Override
+        public Object getThis() {
+            return this;
+        }
+
+        @Override
+        public AccessibleObject getStaticPart() {
+            return null;
+        }
+    }
+}
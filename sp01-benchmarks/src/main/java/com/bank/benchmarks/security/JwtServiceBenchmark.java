@@ -0,0 +1,86 @@
+package com.bank.benchmarks.security;
+
+import com.bank.security.service.JwtProperties;
+import com.bank.security.service.JwtService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token checks done by the JWT filter on every authenticated request. {@code authenticate} is what the
+ * filter calls now; {@code validateThenAuthenticate} is its former two-parse sequence. With
+ * {@code cacheEnabled} the same token is presented over and over, so every call after the first is a
+ * verified-token cache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[32];
+        ThreadLocalRandom.current().nextBytes(secret);
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(Base64.getEncoder().encodeToString(secret));
+        properties.getCache().setEnabled(cacheEnabled);
+        jwtService = new JwtService(properties);
+        jwtService.init();
+
+        token = Jwts.builder()
+                .setSubject("customer-42")
+                .claim("roles", List.of("ROLE_CUSTOMER", "ROLE_ACCOUNT_READ"))
+                .setIssuedAt(new Date())
+                .setExpiration(Date.from(Instant.now().plus(1, ChronoUnit.DAYS)))
+                .signWith(Keys.hmacShaKeyFor(secret))
+                .compact();
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return jwtService.authenticate(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return jwtService.getAuthentication(token);
+    }
+
+    @Benchmark
+    public Authentication validateThenAuthenticate() {
+        return jwtService.isTokenValid(token) ? jwtService.getAuthentication(token) : null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.bank.benchmarks.trace;
+
+import com.bank.core.trace.TraceIdGenerator;
+import com.bank.core.trace.TraceParent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trace id generation and W3C header handling, against the {@code UUID.randomUUID()} based ids used
+ * before. Runs with several threads because contention on the shared {@code SecureRandom} is what
+ * made the UUID version slow under load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TraceIdBenchmark {
+
+    private static final String TRACE_PARENT = "00-65f1c2a09b3e4d5f8a7b6c5d4e3f2a1b-8a7b6c5d4e3f2a1b-01";
+
+    private final TraceParent parent = TraceParent.parse(TRACE_PARENT);
+
+    @Benchmark
+    public String uuid() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @Benchmark
+    public String generate() {
+        return TraceIdGenerator.generate();
+    }
+
+    @Benchmark
+    public String generateShort() {
+        return TraceIdGenerator.generate(TraceIdGenerator.MIN_WIDTH);
+    }
+
+    @Benchmark
+    public TraceParent parse() {
+        return TraceParent.parse(TRACE_PARENT);
+    }
+
+    @Benchmark
+    public String childHeader() {
+        return parent.child().format();
+    }
+}
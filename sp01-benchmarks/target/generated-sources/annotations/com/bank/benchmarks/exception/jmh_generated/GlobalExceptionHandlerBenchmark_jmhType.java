@@ -0,0 +1,4 @@
+package com.bank.benchmarks.exception.jmh_generated;
+public class GlobalExceptionHandlerBenchmark_jmhType extends GlobalExceptionHandlerBenchmark_jmhType_B3 {
+}
+
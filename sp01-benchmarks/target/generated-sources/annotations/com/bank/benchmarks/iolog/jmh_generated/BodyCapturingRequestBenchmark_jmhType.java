@@ -0,0 +1,4 @@
+package com.bank.benchmarks.iolog.jmh_generated;
+public class BodyCapturingRequestBenchmark_jmhType extends BodyCapturingRequestBenchmark_jmhType_B3 {
+}
+
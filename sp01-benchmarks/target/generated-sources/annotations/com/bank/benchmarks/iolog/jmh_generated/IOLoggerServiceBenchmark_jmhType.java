@@ -0,0 +1,4 @@
+package com.bank.benchmarks.iolog.jmh_generated;
+public class IOLoggerServiceBenchmark_jmhType extends IOLoggerServiceBenchmark_jmhType_B3 {
+}
+
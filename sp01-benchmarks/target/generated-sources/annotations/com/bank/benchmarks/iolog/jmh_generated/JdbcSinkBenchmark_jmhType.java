@@ -0,0 +1,4 @@
+package com.bank.benchmarks.iolog.jmh_generated;
+public class JdbcSinkBenchmark_jmhType extends JdbcSinkBenchmark_jmhType_B3 {
+}
+
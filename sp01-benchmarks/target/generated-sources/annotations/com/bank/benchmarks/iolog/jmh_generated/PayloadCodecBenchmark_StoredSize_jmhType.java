@@ -0,0 +1,4 @@
+package com.bank.benchmarks.iolog.jmh_generated;
+public class PayloadCodecBenchmark_StoredSize_jmhType extends PayloadCodecBenchmark_StoredSize_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.bank.benchmarks.iolog.jmh_generated;
+public class PayloadCodecBenchmark_jmhType extends PayloadCodecBenchmark_jmhType_B3 {
+}
+
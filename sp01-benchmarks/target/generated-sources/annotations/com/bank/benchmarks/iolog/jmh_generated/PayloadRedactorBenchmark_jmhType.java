@@ -0,0 +1,4 @@
+package com.bank.benchmarks.iolog.jmh_generated;
+public class PayloadRedactorBenchmark_jmhType extends PayloadRedactorBenchmark_jmhType_B3 {
+}
+
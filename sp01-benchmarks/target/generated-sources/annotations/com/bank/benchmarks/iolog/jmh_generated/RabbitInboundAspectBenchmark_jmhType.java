@@ -0,0 +1,4 @@
+package com.bank.benchmarks.iolog.jmh_generated;
+public class RabbitInboundAspectBenchmark_jmhType extends RabbitInboundAspectBenchmark_jmhType_B3 {
+}
+
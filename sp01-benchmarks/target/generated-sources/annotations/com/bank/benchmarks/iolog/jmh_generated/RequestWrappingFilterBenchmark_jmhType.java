@@ -0,0 +1,4 @@
+package com.bank.benchmarks.iolog.jmh_generated;
+public class RequestWrappingFilterBenchmark_jmhType extends RequestWrappingFilterBenchmark_jmhType_B3 {
+}
+
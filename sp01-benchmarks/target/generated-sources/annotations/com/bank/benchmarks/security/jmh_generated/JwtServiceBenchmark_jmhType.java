@@ -0,0 +1,4 @@
+package com.bank.benchmarks.security.jmh_generated;
+public class JwtServiceBenchmark_jmhType extends JwtServiceBenchmark_jmhType_B3 {
+}
+
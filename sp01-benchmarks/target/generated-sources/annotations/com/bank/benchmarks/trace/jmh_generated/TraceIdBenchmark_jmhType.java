@@ -0,0 +1,4 @@
+package com.bank.benchmarks.trace.jmh_generated;
+public class TraceIdBenchmark_jmhType extends TraceIdBenchmark_jmhType_B3 {
+}
+
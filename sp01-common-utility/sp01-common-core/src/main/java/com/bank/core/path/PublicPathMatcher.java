@@ -0,0 +1,129 @@
+package com.bank.core.path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Paths that skip authentication and IO logging, such as health probes and metrics scrapes, compiled
+ * once into a trie of path segments. A lookup walks the request path segment by segment, so its cost
+ * depends on the depth of the path and not on the number of patterns.
+ * <p>
+ * Patterns are exact paths ({@code /actuator/health}), prefixes ({@code /actuator/health/**}, which also
+ * matches the prefix itself) and {@code *} for exactly one segment. Empty segments are ignored, so a
+ * trailing slash makes no difference. Configured with the {@code sp01.public-paths} property, read through
+ * {@link #fromProperties} by every module that skips public paths, so they all see the same set.
+ */
+public final class PublicPathMatcher {
+
+    public static final String PROPERTY = "sp01.public-paths";
+
+    private static final String ANY_SEGMENT = "*";
+    private static final String ANY_SUBTREE = "**";
+    private static final PublicPathMatcher NONE = new PublicPathMatcher(new Node(), true);
+
+    private final Node root;
+    private final boolean empty;
+
+    private PublicPathMatcher(Node root, boolean empty) {
+        this.root = root;
+        this.empty = empty;
+    }
+
+    public static PublicPathMatcher none() {
+        return NONE;
+    }
+
+    public static PublicPathMatcher compile(Collection<String> patterns) {
+        Node root = new Node();
+        boolean empty = true;
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isBlank()) continue;
+            String[] segments = pattern.trim().split("/");
+            Node node = root;
+            boolean subtree = false;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.isEmpty()) continue;
+                if (ANY_SUBTREE.equals(segment)) {
+                    if (i != segments.length - 1) {
+                        throw new IllegalArgumentException("'**' is only supported as the last segment: " + pattern);
+                    }
+                    subtree = true;
+                } else if (ANY_SEGMENT.equals(segment)) {
+                    if (node.anySegment == null) node.anySegment = new Node();
+                    node = node.anySegment;
+                } else {
+                    node = node.children.computeIfAbsent(segment, s -> new Node());
+                }
+            }
+            if (subtree) {
+                node.subtree = true;
+            } else {
+                node.exact = true;
+            }
+            empty = false;
+        }
+        return empty ? NONE : new PublicPathMatcher(root, false);
+    }
+
+    /**
+     * Compiles {@link #PROPERTY} read through a lookup such as {@code Environment::getProperty}, given either
+     * as one comma-separated value or as a list ({@code sp01.public-paths[0]}, {@code [1]}, ...).
+     */
+    public static PublicPathMatcher fromProperties(Function<String, String> lookup) {
+        List<String> patterns = new ArrayList<>();
+        String value = lookup.apply(PROPERTY);
+        if (value != null) {
+            patterns.addAll(Arrays.asList(value.split(",")));
+        }
+        for (int i = 0; ; i++) {
+            String pattern = lookup.apply(PROPERTY + "[" + i + "]");
+            if (pattern == null) break;
+            patterns.add(pattern);
+        }
+        return compile(patterns);
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * @param path request path within the application, without context path or query string
+     */
+    public boolean matches(String path) {
+        if (empty || path == null) return false;
+        return matches(root, path, 0);
+    }
+
+    private static boolean matches(Node node, String path, int from) {
+        if (node.subtree) return true;
+
+        int start = from;
+        while (start < path.length() && path.charAt(start) == '/') start++;
+        if (start == path.length()) return node.exact;
+
+        int end = path.indexOf('/', start);
+        if (end < 0) end = path.length();
+
+        if (!node.children.isEmpty()) {
+            Node child = node.children.get(path.substring(start, end));
+            if (child != null && matches(child, path, end)) return true;
+        }
+        return node.anySegment != null && matches(node.anySegment, path, end);
+    }
+
+    // only mutated while compiling, read-only once the matcher is published
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+        private Node anySegment;
+        private boolean exact;
+        private boolean subtree;
+    }
+}
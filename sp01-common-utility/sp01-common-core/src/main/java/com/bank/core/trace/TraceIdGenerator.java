@@ -0,0 +1,88 @@
+package com.bank.core.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates lower-case hex trace ids without locks and with a single allocation per id.
+ * <p>
+ * The first 8 characters are the epoch second, so ids created close together sort close together
+ * and inserts into a {@code trace_id} index stay near its right edge. The rest comes from
+ * {@link ThreadLocalRandom}; at the default width of 32 that is 96 random bits per second, and the id
+ * is a valid W3C trace-id. The default width can be changed with the {@code sp01.trace-id.width}
+ * system property (16 to 32).
+ */
+public final class TraceIdGenerator {
+
+    public static final int MIN_WIDTH = 16;
+    public static final int MAX_WIDTH = 32;
+    public static final int DEFAULT_WIDTH = resolveDefaultWidth();
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int TIME_CHARS = 8;
+
+    private TraceIdGenerator() {}
+
+    public static String generate() {
+        return generate(DEFAULT_WIDTH);
+    }
+
+    public static String generate(int width) {
+        if (width < MIN_WIDTH || width > MAX_WIDTH) {
+            throw new IllegalArgumentException("trace id width must be between " + MIN_WIDTH + " and " + MAX_WIDTH);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] id = new char[width];
+        writeHex(id, 0, System.currentTimeMillis() / 1000, TIME_CHARS);
+        int pos = TIME_CHARS;
+        while (pos < width) {
+            int chars = Math.min(16, width - pos);
+            writeHex(id, pos, random.nextLong(), chars);
+            pos += chars;
+        }
+        return new String(id);
+    }
+
+    /**
+     * Whether an id received from a client or another service can be used as is: non-empty hex, at most
+     * {@link #DEFAULT_WIDTH} characters, so it fits the {@code trace_id} column and a W3C trace-id.
+     */
+    public static boolean isValid(String traceId) {
+        if (traceId == null || traceId.isEmpty() || traceId.length() > DEFAULT_WIDTH) return false;
+        for (int i = 0; i < traceId.length(); i++) {
+            char c = traceId.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f') && (c < 'A' || c > 'F')) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 16 hex characters, never all zero, as required for a W3C parent-id (span id).
+     */
+    public static String generateSpanId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long value;
+        do {
+            value = random.nextLong();
+        } while (value == 0);
+        char[] id = new char[16];
+        writeHex(id, 0, value, 16);
+        return new String(id);
+    }
+
+    // writes the low (chars * 4) bits of value as hex, most significant first
+    static void writeHex(char[] target, int offset, long value, int chars) {
+        for (int i = offset + chars - 1; i >= offset; i--) {
+            target[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static int resolveDefaultWidth() {
+        try {
+            int width = Integer.parseInt(System.getProperty("sp01.trace-id.width", String.valueOf(MAX_WIDTH)));
+            return Math.clamp(width, MIN_WIDTH, MAX_WIDTH);
+        } catch (NumberFormatException e) {
+            return MAX_WIDTH;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.bank.core.trace;
+
+/**
+ * W3C Trace Context {@code traceparent} header: {@code 00-<trace-id>-<parent-id>-<flags>}.
+ * Only version {@code 00} fields are read; later versions are accepted as long as their first four
+ * fields follow the same layout, as the specification requires.
+ */
+public record TraceParent(String traceId, String parentId, int flags) {
+
+    public static final String HEADER = "traceparent";
+    public static final int FLAG_SAMPLED = 0x01;
+
+    private static final String VERSION = "00";
+    private static final int TRACE_ID_LENGTH = 32;
+    private static final int PARENT_ID_LENGTH = 16;
+    private static final int HEADER_LENGTH = 55;
+
+    /**
+     * @return the parsed header, or {@code null} when it is absent or malformed
+     */
+    public static TraceParent parse(String header) {
+        if (header == null) return null;
+        String value = header.trim();
+        if (value.length() < HEADER_LENGTH
+                || value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-') {
+            return null;
+        }
+        if (!isHex(value, 0, 2) || value.startsWith("ff")) return null;
+        if (value.startsWith(VERSION) && value.length() != HEADER_LENGTH) return null;
+        if (value.length() > HEADER_LENGTH && value.charAt(HEADER_LENGTH) != '-') return null;
+
+        String traceId = value.substring(3, 35);
+        String parentId = value.substring(36, 52);
+        if (!isHex(value, 3, 35) || !isHex(value, 36, 52) || !isHex(value, 53, 55)
+                || isZero(traceId) || isZero(parentId)) {
+            return null;
+        }
+        return new TraceParent(traceId, parentId, Integer.parseInt(value, 53, 55, 16));
+    }
+
+    /**
+     * Starts a new span under {@code traceId}. Shorter hex ids (such as ids created with a width below 32,
+     * or legacy upper-case ids) are lower-cased and left-padded with zeros; returns {@code null} if
+     * {@code traceId} is not hex at all.
+     */
+    public static TraceParent forTraceId(String traceId, int flags) {
+        if (traceId == null || traceId.isEmpty() || traceId.length() > TRACE_ID_LENGTH) return null;
+        String normalized = traceId.toLowerCase();
+        if (!isHex(normalized, 0, normalized.length()) || isZero(normalized)) return null;
+        if (normalized.length() < TRACE_ID_LENGTH) {
+            normalized = "0".repeat(TRACE_ID_LENGTH - normalized.length()) + normalized;
+        }
+        return new TraceParent(normalized, TraceIdGenerator.generateSpanId(), flags & 0xFF);
+    }
+
+    public TraceParent child() {
+        return new TraceParent(traceId, TraceIdGenerator.generateSpanId(), flags);
+    }
+
+    public boolean isSampled() {
+        return (flags & FLAG_SAMPLED) != 0;
+    }
+
+    public String format() {
+        char[] flagChars = new char[2];
+        TraceIdGenerator.writeHex(flagChars, 0, flags, 2);
+        return VERSION + '-' + traceId + '-' + parentId + '-' + new String(flagChars);
+    }
+
+    private static boolean isHex(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) return false;
+        }
+        return true;
+    }
+
+    private static boolean isZero(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != '0') return false;
+        }
+        return true;
+    }
+}
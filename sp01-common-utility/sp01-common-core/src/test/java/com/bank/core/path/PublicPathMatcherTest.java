@@ -0,0 +1,123 @@
+package com.bank.core.path;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PublicPathMatcherTest {
+
+    @Test
+    void matchesExactPathsOnly() {
+        PublicPathMatcher matcher = compile("/actuator/health");
+
+        assertTrue(matcher.matches("/actuator/health"));
+        assertFalse(matcher.matches("/actuator"));
+        assertFalse(matcher.matches("/actuator/health/liveness"));
+        assertFalse(matcher.matches("/actuator/healthz"));
+        assertFalse(matcher.matches("/Actuator/health"));
+    }
+
+    @Test
+    void ignoresEmptySegmentsAndTrailingSlashes() {
+        PublicPathMatcher matcher = compile("actuator/health/");
+
+        assertTrue(matcher.matches("/actuator/health"));
+        assertTrue(matcher.matches("/actuator/health/"));
+        assertTrue(matcher.matches("//actuator//health"));
+    }
+
+    @Test
+    void matchesAPrefixAndEverythingBelowIt() {
+        PublicPathMatcher matcher = compile("/actuator/health/**");
+
+        assertTrue(matcher.matches("/actuator/health"));
+        assertTrue(matcher.matches("/actuator/health/liveness"));
+        assertTrue(matcher.matches("/actuator/health/db/primary"));
+        assertFalse(matcher.matches("/actuator"));
+        assertFalse(matcher.matches("/actuator/info"));
+    }
+
+    @Test
+    void matchesExactlyOneSegmentWithAStar() {
+        PublicPathMatcher matcher = compile("/api/*/status");
+
+        assertTrue(matcher.matches("/api/v1/status"));
+        assertTrue(matcher.matches("/api/v2/status/"));
+        assertFalse(matcher.matches("/api/status"));
+        assertFalse(matcher.matches("/api/v1/beta/status"));
+    }
+
+    @Test
+    void fallsBackToTheWildcardWhenAnExactSegmentLeadsNowhere() {
+        PublicPathMatcher matcher = compile("/api/v1/private/docs", "/api/*/public");
+
+        assertTrue(matcher.matches("/api/v1/public"));
+        assertTrue(matcher.matches("/api/v1/private/docs"));
+        assertFalse(matcher.matches("/api/v1/private"));
+    }
+
+    @Test
+    void matchesEverythingUnderARootSubtree() {
+        PublicPathMatcher matcher = compile("/**");
+
+        assertTrue(matcher.matches("/"));
+        assertTrue(matcher.matches(""));
+        assertTrue(matcher.matches("/any/thing"));
+    }
+
+    @Test
+    void matchesTheRootOnlyWhenConfigured() {
+        assertTrue(compile("/").matches("/"));
+        assertFalse(compile("/actuator/health").matches("/"));
+        assertFalse(compile("/actuator/health").matches(""));
+    }
+
+    @Test
+    void rejectsADoubleStarBeforeTheLastSegment() {
+        assertThrows(IllegalArgumentException.class, () -> compile("/static/**/index.html"));
+    }
+
+    @Test
+    void treatsBlankPatternsAsNone() {
+        PublicPathMatcher matcher = compile(" ", "", null);
+
+        assertTrue(matcher.isEmpty());
+        assertSame(PublicPathMatcher.none(), matcher);
+        assertFalse(matcher.matches("/"));
+        assertFalse(compile("/actuator/health").matches(null));
+    }
+
+    @Test
+    void readsCommaSeparatedAndIndexedProperties() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(PublicPathMatcher.PROPERTY, "/actuator/health/**, /actuator/prometheus");
+        properties.put(PublicPathMatcher.PROPERTY + "[0]", "/public/*");
+        properties.put(PublicPathMatcher.PROPERTY + "[1]", "/favicon.ico");
+        // a gap ends the list
+        properties.put(PublicPathMatcher.PROPERTY + "[3]", "/never");
+
+        PublicPathMatcher matcher = PublicPathMatcher.fromProperties(properties::get);
+
+        assertTrue(matcher.matches("/actuator/health/readiness"));
+        assertTrue(matcher.matches("/actuator/prometheus"));
+        assertTrue(matcher.matches("/public/logo.png"));
+        assertTrue(matcher.matches("/favicon.ico"));
+        assertFalse(matcher.matches("/never"));
+    }
+
+    @Test
+    void isEmptyWithoutTheProperty() {
+        assertTrue(PublicPathMatcher.fromProperties(key -> null).isEmpty());
+    }
+
+    private static PublicPathMatcher compile(String... patterns) {
+        return PublicPathMatcher.compile(Arrays.asList(patterns));
+    }
+}
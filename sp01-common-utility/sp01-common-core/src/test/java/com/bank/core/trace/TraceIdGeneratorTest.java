@@ -0,0 +1,77 @@
+package com.bank.core.trace;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceIdGeneratorTest {
+
+    @Test
+    void generatesLowerCaseHexOfTheRequestedWidth() {
+        for (int width = TraceIdGenerator.MIN_WIDTH; width <= TraceIdGenerator.MAX_WIDTH; width++) {
+            String id = TraceIdGenerator.generate(width);
+            assertEquals(width, id.length());
+            assertTrue(id.matches("[0-9a-f]+"), id);
+        }
+    }
+
+    @Test
+    void startsWithTheEpochSecond() {
+        long before = System.currentTimeMillis() / 1000;
+        long seconds = Long.parseLong(TraceIdGenerator.generate().substring(0, 8), 16);
+        long after = System.currentTimeMillis() / 1000;
+
+        assertTrue(seconds >= before && seconds <= after);
+    }
+
+    @Test
+    void generatesDistinctIds() {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(TraceIdGenerator.generate());
+        }
+        assertEquals(10_000, ids.size());
+    }
+
+    @Test
+    void rejectsWidthsOutsideTheRange() {
+        assertThrows(IllegalArgumentException.class, () -> TraceIdGenerator.generate(TraceIdGenerator.MIN_WIDTH - 1));
+        assertThrows(IllegalArgumentException.class, () -> TraceIdGenerator.generate(TraceIdGenerator.MAX_WIDTH + 1));
+    }
+
+    @Test
+    void generatesNonZeroSpanIds() {
+        String spanId = TraceIdGenerator.generateSpanId();
+
+        assertEquals(16, spanId.length());
+        assertNotEquals("0".repeat(16), spanId);
+    }
+
+    @Test
+    void validatesIncomingTraceIds() {
+        assertTrue(TraceIdGenerator.isValid(TraceIdGenerator.generate()));
+        assertTrue(TraceIdGenerator.isValid("ABCdef0123"));
+        assertTrue(TraceIdGenerator.isValid("a".repeat(TraceIdGenerator.DEFAULT_WIDTH)));
+
+        assertFalse(TraceIdGenerator.isValid(null));
+        assertFalse(TraceIdGenerator.isValid(""));
+        assertFalse(TraceIdGenerator.isValid("a".repeat(TraceIdGenerator.DEFAULT_WIDTH + 1)));
+        assertFalse(TraceIdGenerator.isValid("4bf92f35-77b3-4da6"));
+        assertFalse(TraceIdGenerator.isValid("trace'; DROP TABLE"));
+    }
+
+    @Test
+    void writesTheLowBitsAsHex() {
+        char[] target = new char[6];
+        TraceIdGenerator.writeHex(target, 1, 0xABCDL, 4);
+
+        assertEquals("abcd", new String(target, 1, 4));
+    }
+}
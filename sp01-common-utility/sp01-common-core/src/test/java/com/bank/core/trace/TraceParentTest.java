@@ -0,0 +1,97 @@
+package com.bank.core.trace;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceParentTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_ID = "00f067aa0ba902b7";
+    private static final String HEADER = "00-" + TRACE_ID + "-" + PARENT_ID + "-01";
+
+    @Test
+    void parsesAVersion00Header() {
+        TraceParent traceParent = TraceParent.parse(HEADER);
+
+        assertEquals(new TraceParent(TRACE_ID, PARENT_ID, 1), traceParent);
+        assertTrue(traceParent.isSampled());
+    }
+
+    @Test
+    void formatsBackToTheSameHeader() {
+        assertEquals(HEADER, TraceParent.parse(HEADER).format());
+        assertEquals("00-" + TRACE_ID + "-" + PARENT_ID + "-00", new TraceParent(TRACE_ID, PARENT_ID, 0).format());
+    }
+
+    @Test
+    void ignoresSurroundingWhitespace() {
+        assertEquals(TRACE_ID, TraceParent.parse("  " + HEADER + " ").traceId());
+    }
+
+    @Test
+    void acceptsLaterVersionsWithExtraFields() {
+        TraceParent traceParent = TraceParent.parse("cc-" + TRACE_ID + "-" + PARENT_ID + "-00-what-the-future-holds");
+
+        assertEquals(TRACE_ID, traceParent.traceId());
+        assertFalse(traceParent.isSampled());
+    }
+
+    @Test
+    void rejectsMalformedHeaders() {
+        String[] malformed = {
+                null,
+                "",
+                HEADER.substring(0, HEADER.length() - 1),
+                HEADER + "-extra",
+                "ff-" + TRACE_ID + "-" + PARENT_ID + "-01",
+                "cc-" + TRACE_ID + "-" + PARENT_ID + "-01extra",
+                "00-" + TRACE_ID.toUpperCase() + "-" + PARENT_ID + "-01",
+                "00-" + "0".repeat(32) + "-" + PARENT_ID + "-01",
+                "00-" + TRACE_ID + "-" + "0".repeat(16) + "-01",
+                "00-" + TRACE_ID + "-" + PARENT_ID + "-0g",
+                "00_" + TRACE_ID + "-" + PARENT_ID + "-01",
+                "0x-" + TRACE_ID + "-" + PARENT_ID + "-01",
+        };
+        for (String header : malformed) {
+            assertNull(TraceParent.parse(header), "accepted " + header);
+        }
+    }
+
+    @Test
+    void padsAndLowerCasesShortTraceIds() {
+        TraceParent traceParent = TraceParent.forTraceId("ABCDEF0123456789", TraceParent.FLAG_SAMPLED);
+
+        assertEquals("0000000000000000abcdef0123456789", traceParent.traceId());
+        assertEquals(16, traceParent.parentId().length());
+        assertEquals(traceParent, TraceParent.parse(traceParent.format()));
+    }
+
+    @Test
+    void refusesTraceIdsThatCannotBeCarried() {
+        assertNull(TraceParent.forTraceId(null, 0));
+        assertNull(TraceParent.forTraceId("", 0));
+        assertNull(TraceParent.forTraceId("not-hex", 0));
+        assertNull(TraceParent.forTraceId("000000", 0));
+        assertNull(TraceParent.forTraceId(TRACE_ID + "0", 0));
+    }
+
+    @Test
+    void keepsOnlyTheLowFlagBits() {
+        assertEquals(0x01, TraceParent.forTraceId(TRACE_ID, 0x101).flags());
+    }
+
+    @Test
+    void childKeepsTheTraceAndFlagsWithANewParent() {
+        TraceParent parent = TraceParent.parse(HEADER);
+        TraceParent child = parent.child();
+
+        assertEquals(parent.traceId(), child.traceId());
+        assertEquals(parent.flags(), child.flags());
+        assertNotEquals(parent.parentId(), child.parentId());
+    }
+}
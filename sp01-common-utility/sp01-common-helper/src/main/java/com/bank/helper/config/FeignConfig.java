@@ -1,5 +1,6 @@
 package com.bank.helper.config;
 
+import com.bank.core.trace.TraceParent;
 import com.bank.helper.util.CommonUtil;
 import feign.RequestInterceptor;
 import jakarta.servlet.http.HttpServletRequest;
@@ -41,6 +42,13 @@ public class FeignConfig {
                     Object attr = request.getAttribute(CommonUtil.TRACE_ID);
                     if (attr != null) traceId = attr.toString();
                 }
+                TraceParent traceParent = resolveTraceParent(request, traceId);
+                if (traceId == null && traceParent != null) {
+                    traceId = traceParent.traceId();
+                }
+                if (traceParent != null) {
+                    requestTemplate.header(TraceParent.HEADER, traceParent.format());
+                }
                 if (traceId != null) {
                     requestTemplate.header(CommonUtil.TRACE_ID, traceId);
                     log.debug("Propagating trace ID: {}", traceId);
@@ -52,4 +60,17 @@ public class FeignConfig {
             }
         };
     }
+
+    // new span for the outgoing call: child of the server span stored by the IO logger filter,
+    // else of an incoming traceparent header, else a fresh one for the trace id
+    private static TraceParent resolveTraceParent(HttpServletRequest request, String traceId) {
+        if (request.getAttribute(TraceParent.HEADER) instanceof TraceParent serverSpan) {
+            return serverSpan.child();
+        }
+        TraceParent incoming = TraceParent.parse(request.getHeader(TraceParent.HEADER));
+        if (incoming != null && (traceId == null || incoming.traceId().equals(traceId))) {
+            return incoming.child();
+        }
+        return traceId != null ? TraceParent.forTraceId(traceId, TraceParent.FLAG_SAMPLED) : null;
+    }
 }
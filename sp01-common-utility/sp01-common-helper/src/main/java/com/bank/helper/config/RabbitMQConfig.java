@@ -1,5 +1,6 @@
 package com.bank.helper.config;
 
+import com.bank.core.trace.TraceParent;
 import com.bank.helper.util.CommonUtil;
 import org.slf4j.MDC;
 import org.springframework.amqp.core.Message;
@@ -30,9 +31,18 @@ public class RabbitMQConfig {
             String traceId = Optional.ofNullable(MDC.get(CommonUtil.TRACE_ID))
                     .orElseGet(CommonUtil::generateTraceId);
             props.setHeader(CommonUtil.TRACE_ID, traceId);
+            // --- W3C TRACE CONTEXT ---
+            if (props.getHeader(TraceParent.HEADER) == null) {
+                TraceParent traceParent = TraceParent.forTraceId(traceId, TraceParent.FLAG_SAMPLED);
+                if (traceParent != null) {
+                    props.setHeader(TraceParent.HEADER, traceParent.format());
+                }
+            }
             return message;
         });
         rabbitTemplate.setMessageConverter(messageConverter);
+        // report unroutable messages back to the publisher when publisher returns are enabled
+        rabbitTemplate.setMandatory(connectionFactory.isPublisherReturns());
         return rabbitTemplate;
     }
 }
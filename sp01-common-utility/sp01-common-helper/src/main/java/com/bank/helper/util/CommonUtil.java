@@ -1,5 +1,7 @@
 package com.bank.helper.util;
 
+import com.bank.core.trace.TraceIdGenerator;
+
 import java.util.UUID;
 
 public class CommonUtil {
@@ -9,11 +11,7 @@ public class CommonUtil {
     public static final String TRACE_ID = "traceId";
 
     public static String generateTraceId() {
-        return UUID.randomUUID()
-                .toString()
-                .replace("-", "")
-                .substring(0, 10)
-                .toUpperCase();
+        return TraceIdGenerator.generate();
     }
 
     public static String generateStandardId(String identifierPrefix) {
@@ -1,6 +1,7 @@
 package com.bank.helper.util;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
@@ -13,10 +14,11 @@ public class RabbitHelper {
     private static final String CORRELATION_ID_HEADER = "correlation_id";
 
     /*
-    Send a message to the DEFAULT exchange with routing key equal to queue name without correlationId
+    Send a message to the DEFAULT exchange with routing key equal to queue name without correlationId.
+    Like every send here it carries a CorrelationData, so publisher confirms/returns, when enabled, report its outcome
      */
     public void sendMessage(String queueName, Object message) {
-        rabbitTemplate.convertAndSend(queueName, message);
+        rabbitTemplate.convertAndSend(queueName, message, new CorrelationData());
     }
 
     /*
@@ -27,14 +29,14 @@ public class RabbitHelper {
             msg.getMessageProperties().setCorrelationId(correlationId);
             msg.getMessageProperties().setHeader(CORRELATION_ID_HEADER, correlationId);
             return msg;
-        });
+        }, new CorrelationData(correlationId));
     }
 
     /*
     Send a message to either DIRECT or TOPIC exchange with a routing key without correlationId
      */
     public void sendMessage(String exchange, String routingKey, Object message) {
-        rabbitTemplate.convertAndSend(exchange, routingKey, message);
+        rabbitTemplate.convertAndSend(exchange, routingKey, message, new CorrelationData());
     }
 
     /*
@@ -45,14 +47,14 @@ public class RabbitHelper {
             msg.getMessageProperties().setCorrelationId(correlationId);
             msg.getMessageProperties().setHeader(CORRELATION_ID_HEADER, correlationId);
             return msg;
-        });
+        }, new CorrelationData(correlationId));
     }
 
     /*
     Send a message to FANOUT exchange (no routing key) without correlationId
      */
     public void publishEvent(String exchange, Object message) {
-        rabbitTemplate.convertAndSend(exchange, "", message);
+        rabbitTemplate.convertAndSend(exchange, "", message, new CorrelationData());
     }
 
     /*
@@ -63,6 +65,6 @@ public class RabbitHelper {
             msg.getMessageProperties().setCorrelationId(correlationId);
             msg.getMessageProperties().setHeader(CORRELATION_ID_HEADER, correlationId);
             return msg;
-        });
+        }, new CorrelationData(correlationId));
     }
 }
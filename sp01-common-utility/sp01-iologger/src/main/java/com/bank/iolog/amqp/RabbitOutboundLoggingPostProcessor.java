@@ -0,0 +1,156 @@
+package com.bank.iolog.amqp;
+
+import com.bank.core.trace.TraceIdGenerator;
+import com.bank.iolog.enums.ChannelType;
+import com.bank.iolog.enums.LogTier;
+import com.bank.iolog.metrics.IOLoggerMetrics;
+import com.bank.iolog.policy.IOLogPolicy;
+import com.bank.iolog.service.IOLoggerService;
+import com.bank.iolog.util.IOLoggerConstant;
+import com.bank.iolog.util.IOLoggerUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.amqp.core.Correlation;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Last step of a {@code RabbitTemplate}'s before-publish chain: sees the message after conversion,
+ * so it logs the exact body and headers that go on the wire.
+ * <p>
+ * When the send carries a {@link CorrelationData} and the connection factory has publisher confirms
+ * enabled, the entry is written once the broker answers: 200 for an ack, 404 when the message came back
+ * unroutable (publisher returns with a mandatory template), 503 for a nack and 504 when no confirm
+ * arrives within {@code confirmTimeout}. Otherwise the entry is written immediately without a status.
+ * <p>
+ * Confirmed entries are written on a small bounded pool of their own, never on the connection's confirm
+ * thread or the timeout's delayer thread; with a SYNC writer that write is a database insert. When the pool
+ * falls behind, entries beyond its queue are dropped rather than stalling confirms for every publisher.
+ */
+@Slf4j
+public class RabbitOutboundLoggingPostProcessor implements MessagePostProcessor, AutoCloseable {
+
+    private final IOLoggerService ioLoggerService;
+    private final IOLogPolicy policy;
+    private final String appName;
+    private final int maxBodyBytes;
+    private final boolean confirmsEnabled;
+    private final Duration confirmTimeout;
+    private final IOLoggerMetrics metrics;
+    private final ThreadPoolExecutor confirmExecutor;
+
+    public RabbitOutboundLoggingPostProcessor(IOLoggerService ioLoggerService, IOLogPolicy policy, String appName,
+                                              int maxBodyBytes, boolean confirmsEnabled, Duration confirmTimeout,
+                                              int confirmThreads, int confirmQueueCapacity,
+                                              IOLoggerMetrics metrics) {
+        this.ioLoggerService = ioLoggerService;
+        this.policy = policy;
+        this.appName = appName;
+        this.maxBodyBytes = maxBodyBytes;
+        this.confirmsEnabled = confirmsEnabled;
+        this.confirmTimeout = confirmTimeout;
+        this.metrics = metrics;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.confirmExecutor = new ThreadPoolExecutor(confirmThreads, confirmThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(confirmQueueCapacity), r -> {
+                    Thread t = new Thread(r, "iolog-rabbit-confirm-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, (r, executor) -> log.debug("IOLogger: confirm logging queue full, outbound Rabbit entry dropped"));
+    }
+
+    @Override
+    public Message postProcessMessage(Message message) {
+        return postProcessMessage(message, null, null, null);
+    }
+
+    @Override
+    public Message postProcessMessage(Message message, Correlation correlation, String exchange, String routingKey) {
+        long captureStart = System.nanoTime();
+        try {
+            String traceId = resolveTraceId(message.getMessageProperties());
+            String resource = "Exchange: " + exchange + " : RoutingKey: " + routingKey;
+            Instant publishTs = Instant.now();
+
+            if (confirmsEnabled && correlation instanceof CorrelationData correlationData) {
+                // copy() so the timeout never completes the caller's own future
+                correlationData.getFuture().copy()
+                        .orTimeout(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                        .whenCompleteAsync((confirm, ex) -> {
+                            Integer status = ex != null ? 504
+                                    : correlationData.getReturned() != null ? 404
+                                    : confirm.isAck() ? 200 : 503;
+                            try {
+                                writeEntry(message, traceId, resource, routingKey, status, publishTs);
+                            } catch (Exception e) {
+                                log.error("IOLogger: failed to log confirmed outbound Rabbit message", e);
+                            }
+                        }, confirmExecutor);
+            } else {
+                writeEntry(message, traceId, resource, routingKey, null, publishTs);
+            }
+        } catch (Exception e) {
+            log.error("IOLogger: failed to capture outbound Rabbit message", e);
+        }
+        metrics.recordCapture(ChannelType.RABBITMQ, metricRoute(exchange, routingKey),
+                System.nanoTime() - captureStart);
+        return message;
+    }
+
+    // routing keys are free-form (ids, reply queues), so the timer is tagged with the exchange; on the default
+    // exchange the key is a queue name and is kept only when a queue rule names it
+    private String metricRoute(String exchange, String routingKey) {
+        if (exchange != null && !exchange.isEmpty()) return exchange;
+        return policy.hasQueueRule(routingKey) ? routingKey : IOLoggerMetrics.UNKNOWN_ROUTE;
+    }
+
+    private void writeEntry(Message message, String traceId, String resource, String routingKey, Integer status,
+                            Instant publishTs) {
+        boolean failed = status != null && status >= 400;
+        long latencyMillis = Duration.between(publishTs, Instant.now()).toMillis();
+        // routing key is the queue name on the default exchange, so queue rules are matched against it
+        LogTier tier = policy.decideRabbit(routingKey, failed, latencyMillis);
+        if (tier == LogTier.NONE) return;
+
+        MessageProperties properties = message.getMessageProperties();
+        boolean full = tier == LogTier.FULL;
+        byte[] body = message.getBody();
+        Map<String, String> headers = full ? IOLoggerUtil.stringifyHeaders(properties.getHeaders()) : null;
+        String payload = full ? IOLoggerUtil.decodeCapped(body, maxBodyBytes, properties.getContentEncoding()) : null;
+        boolean truncated = full && body != null && body.length > maxBodyBytes;
+        ioLoggerService.logRabbitOutboundMessage(headers, payload, truncated, traceId, appName, resource, status,
+                publishTs, tier);
+    }
+
+    @Override
+    public void close() {
+        confirmExecutor.shutdown();
+        try {
+            confirmExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String resolveTraceId(MessageProperties properties) {
+        Object header = properties.getHeaders().get(IOLoggerConstant.TRACE_ID);
+        if (header != null && TraceIdGenerator.isValid(header.toString())) return header.toString();
+        // an unusable header is replaced, so the consumer logs under the same id as this entry
+        String traceId = MDC.get(IOLoggerConstant.TRACE_ID);
+        if (!TraceIdGenerator.isValid(traceId)) {
+            traceId = IOLoggerUtil.generateTraceId();
+        }
+        properties.setHeader(IOLoggerConstant.TRACE_ID, traceId);
+        return traceId;
+    }
+}
@@ -0,0 +1,25 @@
+package com.bank.iolog.amqp;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Appends {@link RabbitOutboundLoggingPostProcessor} to every {@link RabbitTemplate}. It runs after the
+ * template has been initialized, so it comes after post-processors the application registered itself
+ * (such as the trace id header set in {@code RabbitMQConfig}).
+ */
+@RequiredArgsConstructor
+public class RabbitTemplateLoggingConfigurer implements BeanPostProcessor {
+
+    private final ObjectProvider<RabbitOutboundLoggingPostProcessor> postProcessor;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof RabbitTemplate template) {
+            template.addBeforePublishPostProcessors(postProcessor.getObject());
+        }
+        return bean;
+    }
+}
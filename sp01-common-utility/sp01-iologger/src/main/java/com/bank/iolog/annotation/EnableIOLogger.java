@@ -1,7 +1,10 @@
 package com.bank.iolog.annotation;
 
 import com.bank.iolog.config.IOLoggerDataSourceConfig;
+import com.bank.iolog.config.IOLoggerEndpointConfig;
 import com.bank.iolog.config.IOLoggerFilterConfig;
+import com.bank.iolog.config.IOLoggerReactiveConfig;
+import com.bank.iolog.config.IOLoggerSinkConfig;
 import com.bank.iolog.config.IORabbitLoggerAutoConfiguration;
 import org.springframework.context.annotation.Import;
 
@@ -10,6 +13,7 @@ import java.lang.annotation.*;
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
-@Import({IOLoggerDataSourceConfig.class, IORabbitLoggerAutoConfiguration.class, IOLoggerFilterConfig.class})
+@Import({IOLoggerDataSourceConfig.class, IOLoggerSinkConfig.class, IORabbitLoggerAutoConfiguration.class,
+        IOLoggerFilterConfig.class, IOLoggerReactiveConfig.class, IOLoggerEndpointConfig.class})
 public @interface EnableIOLogger {
 }
@@ -1,61 +1,92 @@
 package com.bank.iolog.aspect;
 
+import com.bank.core.trace.TraceIdGenerator;
+import com.bank.core.trace.TraceParent;
+import com.bank.iolog.enums.ChannelType;
+import com.bank.iolog.enums.LogTier;
+import com.bank.iolog.metrics.IOLoggerMetrics;
+import com.bank.iolog.policy.IOLogPolicy;
 import com.bank.iolog.service.IOLoggerService;
 import com.bank.iolog.util.IOLoggerConstant;
 import com.bank.iolog.util.IOLoggerUtil;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.slf4j.MDC;
 import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 public class RabbitInboundLoggerAspect implements MethodInterceptor {
 
     private final IOLoggerService ioLoggerService;
+    private final IOLogPolicy policy;
     private final String appName;
-    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private final int maxBodyBytes;
+    private final IOLoggerMetrics metrics;
 
     @Override
     public Object invoke(MethodInvocation invocation) throws Throwable {
-        Message message = Arrays.stream(invocation.getArguments())
-                .filter(Message.class::isInstance)
-                .map(Message.class::cast)
-                .findFirst()
-                .orElse(null);
-
-        if (message != null) {
-            Map<String, String> headers = message.getMessageProperties().getHeaders().entrySet().stream()
-                    .collect(Collectors.toMap(Map.Entry::getKey, e -> String.valueOf(e.getValue())));
-
-            String traceId = headers.getOrDefault(IOLoggerConstant.TRACE_ID, IOLoggerUtil.generateTraceId());
-            String payload = parseJsonSafely(message.getBody());
-            String queueName = "Queue: " + message.getMessageProperties().getConsumerQueue();
-
-            ioLoggerService.logRabbitInboundRequest(headers, payload, traceId, appName, queueName);
-            MDC.put(IOLoggerConstant.TRACE_ID, traceId);
+        Message message = findMessage(invocation.getArguments());
+        if (message == null) {
+            return invocation.proceed();
         }
 
+        MessageProperties properties = message.getMessageProperties();
+        String traceId = resolveTraceId(properties);
+        String consumerQueue = properties.getConsumerQueue();
+        Instant startTs = Instant.now();
+
+        // restored afterwards: a listener invoked from another traced thread keeps that thread's trace id
+        String previousTraceId = MDC.get(IOLoggerConstant.TRACE_ID);
+        MDC.put(IOLoggerConstant.TRACE_ID, traceId);
+        boolean failed = false;
         try {
             return invocation.proceed();
+        } catch (Throwable t) {
+            failed = true;
+            throw t;
         } finally {
-            MDC.remove(IOLoggerConstant.TRACE_ID);
+            if (previousTraceId != null) {
+                MDC.put(IOLoggerConstant.TRACE_ID, previousTraceId);
+            } else {
+                MDC.remove(IOLoggerConstant.TRACE_ID);
+            }
+            long captureStart = System.nanoTime();
+            // decide after the listener ran so failed and slow deliveries are always kept
+            long latencyMillis = Duration.between(startTs, Instant.now()).toMillis();
+            LogTier tier = policy.decideRabbit(consumerQueue, failed, latencyMillis);
+            if (tier != LogTier.NONE) {
+                // headers and body are only materialized for entries that are actually logged, and the body
+                // is stored as received; pretty-printing happens at read time (IOLogEntryContent.pretty)
+                boolean full = tier == LogTier.FULL;
+                byte[] body = message.getBody();
+                Map<String, String> headers = full ? IOLoggerUtil.stringifyHeaders(properties.getHeaders()) : null;
+                String payload = full ? IOLoggerUtil.decodeCapped(body, maxBodyBytes, properties.getContentEncoding()) : null;
+                boolean truncated = full && body != null && body.length > maxBodyBytes;
+                ioLoggerService.logRabbitInboundRequest(headers, payload, truncated, traceId, appName,
+                        "Queue: " + consumerQueue, startTs, tier);
+            }
+            metrics.recordCapture(ChannelType.RABBITMQ, consumerQueue, System.nanoTime() - captureStart);
         }
     }
 
-    private String parseJsonSafely(byte[] payloadBytes) {
-        String raw = new String(payloadBytes, StandardCharsets.UTF_8);
-        try {
-            Object json = MAPPER.readValue(raw, Object.class);
-            return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(json);
-        } catch (Exception e) {
-            return raw;
+    private static String resolveTraceId(MessageProperties properties) {
+        Object traceHeader = properties.getHeaders().get(IOLoggerConstant.TRACE_ID);
+        if (traceHeader != null && TraceIdGenerator.isValid(traceHeader.toString())) return traceHeader.toString();
+        Object traceParentHeader = properties.getHeaders().get(TraceParent.HEADER);
+        TraceParent traceParent = traceParentHeader != null ? TraceParent.parse(traceParentHeader.toString()) : null;
+        return traceParent != null ? traceParent.traceId() : IOLoggerUtil.generateTraceId();
+    }
+
+    private static Message findMessage(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof Message message) return message;
         }
+        return null;
     }
 }
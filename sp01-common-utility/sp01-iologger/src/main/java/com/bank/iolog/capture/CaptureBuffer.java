@@ -0,0 +1,154 @@
+package com.bank.iolog.capture;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Byte sink that keeps at most {@code limit} bytes of whatever is written to it and only counts the
+ * rest. Storage grows lazily, so small bodies never pay for the full limit, and comes from a
+ * {@link CaptureBufferPool}; {@link #release()} hands it back once the captured bytes were decoded.
+ * <p>
+ * Writes normally come from one thread at a time, but after an async timeout or a cancelled exchange a
+ * late write can race with the thread that logs the exchange. {@link #close()} therefore waits for a
+ * write in progress and turns every later write into a no-op, and {@link #release()} only gives the
+ * storage back once the buffer is closed, so a pooled array is never written after another buffer
+ * borrowed it.
+ */
+public class CaptureBuffer {
+
+    private static final int INITIAL_CAPACITY = 512;
+    private static final byte[] EMPTY = new byte[0];
+
+    private static final int OPEN = 0;
+    private static final int WRITING = 1;
+    private static final int CLOSED = 2;
+    private static final int RELEASED = 3;
+
+    private final CaptureBufferPool pool;
+    private final AtomicInteger state = new AtomicInteger(OPEN);
+    private int limit;
+    private byte[] buf = EMPTY;
+    private int count;
+    private long totalBytes;
+
+    public CaptureBuffer(int limit) {
+        this(limit, CaptureBufferPool.none());
+    }
+
+    public CaptureBuffer(int limit, CaptureBufferPool pool) {
+        this.limit = Math.max(0, limit);
+        this.pool = pool;
+    }
+
+    public void write(int b) {
+        if (!state.compareAndSet(OPEN, WRITING)) return;
+        try {
+            totalBytes++;
+            if (count < limit) {
+                ensureCapacity(count + 1);
+                buf[count++] = (byte) b;
+            }
+        } finally {
+            state.set(OPEN);
+        }
+    }
+
+    public void write(byte[] b, int off, int len) {
+        if (len <= 0 || !state.compareAndSet(OPEN, WRITING)) return;
+        try {
+            totalBytes += len;
+            int n = Math.min(len, limit - count);
+            if (n > 0) {
+                ensureCapacity(count + n);
+                System.arraycopy(b, off, buf, count, n);
+                count += n;
+            }
+        } finally {
+            state.set(OPEN);
+        }
+    }
+
+    /**
+     * Copies from {@code src} without moving its position, so the buffer can still be written downstream.
+     */
+    public void write(ByteBuffer src) {
+        int len = src.remaining();
+        if (len <= 0 || !state.compareAndSet(OPEN, WRITING)) return;
+        try {
+            totalBytes += len;
+            int n = Math.min(len, limit - count);
+            if (n > 0) {
+                ensureCapacity(count + n);
+                src.get(src.position(), buf, count, n);
+                count += n;
+            }
+        } finally {
+            state.set(OPEN);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int remaining() {
+        return limit - count;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public boolean isTruncated() {
+        return totalBytes > count;
+    }
+
+    public String toString(Charset charset) {
+        return count == 0 ? null : new String(buf, 0, count, charset);
+    }
+
+    /**
+     * Stops capturing: waits for a write in progress on another thread, after which every write is ignored.
+     * What was captured so far stays readable.
+     */
+    public void close() {
+        while (true) {
+            int current = state.get();
+            if (current == CLOSED || current == RELEASED) return;
+            if (current == OPEN && state.compareAndSet(OPEN, CLOSED)) return;
+            // a write is copying at most one chunk, it finishes in a moment
+            Thread.onSpinWait();
+        }
+    }
+
+    public boolean isClosed() {
+        return state.get() >= CLOSED;
+    }
+
+    /**
+     * Closes the buffer and returns its storage to the pool, once. The buffer reads as empty afterwards.
+     */
+    public void release() {
+        close();
+        if (!state.compareAndSet(CLOSED, RELEASED)) return;
+        byte[] released = buf;
+        buf = EMPTY;
+        count = 0;
+        limit = 0;
+        if (released != EMPTY) {
+            pool.release(released);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= buf.length) return;
+        int newCapacity = Math.min(Math.max(required, Math.max(INITIAL_CAPACITY, buf.length << 1)), limit);
+        byte[] grown = pool.acquire(newCapacity);
+        System.arraycopy(buf, 0, grown, 0, count);
+        if (buf != EMPTY) {
+            pool.release(buf);
+        }
+        buf = grown;
+    }
+}
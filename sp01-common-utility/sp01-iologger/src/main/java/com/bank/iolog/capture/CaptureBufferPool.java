@@ -0,0 +1,83 @@
+package com.bank.iolog.capture;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Size-classed pool of the byte arrays behind {@link CaptureBuffer}s. Classes are powers of two from
+ * 512 bytes to 1 MiB; each keeps at most {@code maxPerClass} idle arrays, anything beyond that (and any
+ * larger request) is left to the garbage collector. Arrays are reused as they are, never cleared:
+ * a buffer only ever reads back what it wrote itself.
+ */
+public class CaptureBufferPool {
+
+    private static final int MIN_CLASS_SHIFT = 9;
+    private static final int MAX_CLASS_SHIFT = 20;
+
+    private final ArrayBlockingQueue<byte[]>[] classes;
+
+    @SuppressWarnings("unchecked")
+    public CaptureBufferPool(int maxPerClass) {
+        classes = new ArrayBlockingQueue[MAX_CLASS_SHIFT - MIN_CLASS_SHIFT + 1];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = new ArrayBlockingQueue<>(Math.max(1, maxPerClass));
+        }
+    }
+
+    /**
+     * Shared by buffers created without an explicit pool; never retains anything.
+     */
+    public static CaptureBufferPool none() {
+        return NonePool.INSTANCE;
+    }
+
+    /**
+     * @return an array of at least {@code minCapacity} bytes, rounded up to its size class
+     */
+    public byte[] acquire(int minCapacity) {
+        int index = classIndex(minCapacity);
+        if (index < 0) return new byte[minCapacity];
+        byte[] pooled = classes[index].poll();
+        return pooled != null ? pooled : new byte[1 << (index + MIN_CLASS_SHIFT)];
+    }
+
+    public void release(byte[] buffer) {
+        if (buffer == null) return;
+        int index = classIndex(buffer.length);
+        // only exact class sizes come from acquire, anything else was never ours
+        if (index >= 0 && buffer.length == 1 << (index + MIN_CLASS_SHIFT)) {
+            classes[index].offer(buffer);
+        }
+    }
+
+    public int idleBuffers() {
+        int idle = 0;
+        for (ArrayBlockingQueue<byte[]> pooled : classes) {
+            idle += pooled.size();
+        }
+        return idle;
+    }
+
+    private static int classIndex(int capacity) {
+        int shift = Math.max(MIN_CLASS_SHIFT, 32 - Integer.numberOfLeadingZeros(Math.max(1, capacity) - 1));
+        return shift > MAX_CLASS_SHIFT ? -1 : shift - MIN_CLASS_SHIFT;
+    }
+
+    private static final class NonePool extends CaptureBufferPool {
+
+        private static final NonePool INSTANCE = new NonePool();
+
+        private NonePool() {
+            super(1);
+        }
+
+        @Override
+        public byte[] acquire(int minCapacity) {
+            return new byte[minCapacity];
+        }
+
+        @Override
+        public void release(byte[] buffer) {
+            // not pooled
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.bank.iolog.codec;
+
+import com.bank.iolog.entity.IOLogEntry;
+import com.bank.iolog.sink.IOLogSink;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves header and payload text into the compressed binary columns before handing the batch on.
+ * Runs on the writer thread, so the compression cost stays off request threads in async mode.
+ * Works on copies, other sinks in a {@code CompositeIOLogSink} still see the text.
+ */
+@RequiredArgsConstructor
+public class CompressingIOLogSink implements IOLogSink {
+
+    private final IOLogSink delegate;
+    private final PayloadCodec codec;
+
+    @Override
+    public void write(List<IOLogEntry> entries) {
+        List<IOLogEntry> compressed = new ArrayList<>(entries.size());
+        for (IOLogEntry entry : entries) {
+            IOLogEntry copy = entry.toBuilder().build();
+            if (copy.getHeader() != null) {
+                copy.setHeaderData(codec.encode(copy.getHeader()));
+                copy.setHeader(null);
+            }
+            if (copy.getPayload() != null) {
+                copy.setPayloadData(codec.encode(copy.getPayload()));
+                copy.setPayload(null);
+            }
+            compressed.add(copy);
+        }
+        delegate.write(compressed);
+    }
+}
@@ -0,0 +1,81 @@
+package com.bank.iolog.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Builds a preset dictionary from sample payloads. It collects the JSON fragments that repeat across
+ * samples (field names with their separators and recurring string values) and packs the most frequent
+ * ones into at most {@code maxSize} bytes. Deflate reaches back at most 32 KiB and prefers short
+ * distances, so the most frequent fragments are placed at the end.
+ * <p>
+ * Usage: {@code java ... DictionaryTrainer <samples-dir> <output-file> [max-size]}, one payload per file.
+ */
+public final class DictionaryTrainer {
+
+    private static final int DEFLATE_WINDOW = 32 * 1024;
+    private static final Pattern FRAGMENT = Pattern.compile("\"[^\"\\\\]{1,80}\"\\s*:|\"[^\"\\\\]{2,80}\"");
+
+    private DictionaryTrainer() {}
+
+    public static PayloadDictionary train(List<String> samples, int maxSize) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String sample : samples) {
+            Matcher m = FRAGMENT.matcher(sample);
+            while (m.find()) {
+                counts.merge(m.group(), 1, Integer::sum);
+            }
+        }
+
+        List<Map.Entry<String, Integer>> ranked = new ArrayList<>(counts.entrySet());
+        ranked.removeIf(e -> e.getValue() < 2);
+        // most valuable first: frequency weighted by the bytes each occurrence saves
+        ranked.sort(Comparator.comparingLong((Map.Entry<String, Integer> e) -> (long) e.getValue() * e.getKey().length())
+                .reversed());
+
+        int limit = Math.min(maxSize, DEFLATE_WINDOW);
+        List<byte[]> chosen = new ArrayList<>();
+        int size = 0;
+        for (Map.Entry<String, Integer> e : ranked) {
+            byte[] fragment = e.getKey().getBytes(StandardCharsets.UTF_8);
+            if (size + fragment.length > limit) continue;
+            chosen.add(fragment);
+            size += fragment.length;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        for (int i = chosen.size() - 1; i >= 0; i--) {
+            out.writeBytes(chosen.get(i));
+        }
+        return PayloadDictionary.of(out.toByteArray());
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: DictionaryTrainer <samples-dir> <output-file> [max-size]");
+            System.exit(1);
+        }
+        int maxSize = args.length > 2 ? Integer.parseInt(args[2]) : DEFLATE_WINDOW;
+        List<String> samples = new ArrayList<>();
+        try (Stream<Path> files = Files.list(Path.of(args[0]))) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                samples.add(Files.readString(file));
+            }
+        }
+        PayloadDictionary dictionary = train(samples, maxSize);
+        Files.write(Path.of(args[1]), dictionary.bytes());
+        System.out.printf("Wrote %d byte dictionary %08x from %d samples%n",
+                dictionary.bytes().length, dictionary.id(), samples.size());
+    }
+}
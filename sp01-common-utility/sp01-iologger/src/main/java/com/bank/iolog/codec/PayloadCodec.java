@@ -0,0 +1,125 @@
+package com.bank.iolog.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes header and payload text into the binary {@code *_data} columns. The first byte of every
+ * encoded value is a codec marker, so values written with different settings (or before a
+ * dictionary was introduced) can always be read back:
+ * <ul>
+ *     <li>{@code 0x00} raw UTF-8, used for values below the size threshold</li>
+ *     <li>{@code 0x01} raw deflate</li>
+ *     <li>{@code 0x02} raw deflate with a preset dictionary, followed by the 4-byte dictionary id</li>
+ * </ul>
+ * Decoding looks dictionaries up in a process-wide registry, which is filled at startup.
+ */
+public class PayloadCodec {
+
+    private static final byte RAW = 0x00;
+    private static final byte DEFLATE = 0x01;
+    private static final byte DEFLATE_DICTIONARY = 0x02;
+
+    private static final Map<Integer, PayloadDictionary> DICTIONARIES = new ConcurrentHashMap<>();
+
+    private final int level;
+    private final int minSizeBytes;
+    private final PayloadDictionary dictionary;
+
+    public PayloadCodec(int level, int minSizeBytes, PayloadDictionary dictionary) {
+        this.level = level;
+        this.minSizeBytes = minSizeBytes;
+        this.dictionary = dictionary;
+        if (dictionary != null) {
+            registerDictionary(dictionary);
+        }
+    }
+
+    public static void registerDictionary(PayloadDictionary dictionary) {
+        DICTIONARIES.put(dictionary.id(), dictionary);
+    }
+
+    public byte[] encode(String value) {
+        if (value == null) return null;
+        byte[] raw = value.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < minSizeBytes) {
+            return withMarker(RAW, raw);
+        }
+
+        Deflater deflater = new Deflater(level, true);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 3));
+            if (dictionary != null) {
+                out.write(DEFLATE_DICTIONARY);
+                out.writeBytes(ByteBuffer.allocate(4).putInt(dictionary.id()).array());
+                deflater.setDictionary(dictionary.bytes());
+            } else {
+                out.write(DEFLATE);
+            }
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] chunk = new byte[Math.min(8192, Math.max(256, raw.length))];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                out.write(chunk, 0, n);
+            }
+            byte[] compressed = out.toByteArray();
+            // incompressible input: keep it raw rather than pay for inflating it later
+            return compressed.length < raw.length ? compressed : withMarker(RAW, raw);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decode(byte[] encoded) {
+        if (encoded == null || encoded.length == 0) return null;
+        return switch (encoded[0]) {
+            case RAW -> new String(encoded, 1, encoded.length - 1, StandardCharsets.UTF_8);
+            case DEFLATE -> inflate(encoded, 1, null);
+            case DEFLATE_DICTIONARY -> {
+                int id = ByteBuffer.wrap(encoded, 1, 4).getInt();
+                PayloadDictionary dictionary = DICTIONARIES.get(id);
+                if (dictionary == null) {
+                    throw new IllegalStateException("IOLogger: unknown payload dictionary " + Integer.toHexString(id));
+                }
+                yield inflate(encoded, 5, dictionary);
+            }
+            default -> throw new IllegalStateException("IOLogger: unknown payload codec marker " + encoded[0]);
+        };
+    }
+
+    private static String inflate(byte[] encoded, int offset, PayloadDictionary dictionary) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(encoded, offset, encoded.length - offset);
+            if (dictionary != null) {
+                inflater.setDictionary(dictionary.bytes());
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length * 4);
+            byte[] chunk = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(chunk);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                out.write(chunk, 0, n);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("IOLogger: corrupt compressed payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] withMarker(byte marker, byte[] raw) {
+        byte[] out = new byte[raw.length + 1];
+        out[0] = marker;
+        System.arraycopy(raw, 0, out, 1, raw.length);
+        return out;
+    }
+}
@@ -0,0 +1,23 @@
+package com.bank.iolog.codec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * Preset deflate dictionary. The id is the CRC32 of its bytes and is stored with every value
+ * compressed against it, so readers can pick the right dictionary after it has been replaced.
+ */
+public record PayloadDictionary(int id, byte[] bytes) {
+
+    public static PayloadDictionary of(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return new PayloadDictionary((int) crc.getValue(), bytes);
+    }
+
+    public static PayloadDictionary load(Path path) throws IOException {
+        return of(Files.readAllBytes(path));
+    }
+}
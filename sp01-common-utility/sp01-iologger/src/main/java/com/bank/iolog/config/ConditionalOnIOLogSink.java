@@ -0,0 +1,17 @@
+package com.bank.iolog.config;
+
+import org.springframework.context.annotation.Conditional;
+
+import java.lang.annotation.*;
+
+/**
+ * Matches when {@code iologger.sinks} contains the given sink name, see {@link IOLoggerProperties#getSinks()}.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Conditional(OnIOLogSinkCondition.class)
+public @interface ConditionalOnIOLogSink {
+
+    String value();
+}
@@ -1,18 +1,38 @@
 package com.bank.iolog.config;
 
+import com.bank.iolog.codec.CompressingIOLogSink;
+import com.bank.iolog.codec.PayloadCodec;
+import com.bank.iolog.codec.PayloadDictionary;
+import com.bank.iolog.dedup.DeduplicatingIOLogSink;
+import com.bank.iolog.enums.PersistenceMode;
+import com.bank.iolog.partition.IOLogPartitionManager;
+import com.bank.iolog.query.IOLogQueryService;
+import com.bank.iolog.repository.IOLogEntryRepository;
+import com.bank.iolog.schema.IOLogSchemaUpgrader;
+import com.bank.iolog.sink.IOLogSink;
+import com.bank.iolog.sink.JdbcBatchIOLogSink;
+import com.bank.iolog.sink.JpaIOLogSink;
+import com.bank.iolog.spool.SpoolJournal;
+import com.bank.iolog.spool.SpoolingIOLogSink;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -23,6 +43,8 @@ import java.util.Map;
         transactionManagerRef = "ioLoggerTransactionManager"
 )
 @ConditionalOnProperty(prefix = "iologger", name = "enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnIOLogSink(IOLoggerProperties.SINK_DATABASE)
+@EnableConfigurationProperties(IOLoggerProperties.class)
 public class IOLoggerDataSourceConfig {
 
     @Bean
@@ -59,4 +81,88 @@ public class IOLoggerDataSourceConfig {
             @Qualifier("ioLoggerEntityManagerFactory") LocalContainerEntityManagerFactoryBean emf) {
         return new JpaTransactionManager(emf.getObject());
     }
+
+    /**
+     * Selects how entries reach io_log_entries: {@code JPA} (default) goes through the repository,
+     * {@code JDBC} uses multi-row INSERTs and bypasses the entity lifecycle entirely.
+     * With {@code iologger.compression.enabled} header and payload are deflated into binary columns,
+     * {@code iologger.deduplication.enabled} stores them once in io_log_blobs, and with
+     * {@code iologger.spool.enabled} the sink is fronted by a local journal for DB outages.
+     */
+    @Bean(name = "ioLogDatabaseSink")
+    public IOLogSink ioLogDatabaseSink(IOLogEntryRepository ioLogEntryRepository,
+                                       @Qualifier("ioLoggerDataSource") DataSource dataSource,
+                                       IOLoggerProperties properties) throws IOException {
+        IOLoggerProperties.Persistence persistence = properties.getPersistence();
+        IOLogSink sink = persistence.getMode() == PersistenceMode.JDBC
+                ? new JdbcBatchIOLogSink(new JdbcTemplate(dataSource), persistence.getJdbc().getRowsPerStatement())
+                : new JpaIOLogSink(ioLogEntryRepository);
+
+        IOLoggerProperties.Compression compression = properties.getCompression();
+        PayloadCodec codec = compression.isEnabled() ? buildPayloadCodec(compression) : null;
+        if (codec != null) {
+            sink = new CompressingIOLogSink(sink, codec);
+        }
+
+        // outside compression: deduplicated values leave the row, blobs are compressed by the dedup sink itself
+        IOLoggerProperties.Deduplication deduplication = properties.getDeduplication();
+        if (deduplication.isEnabled()) {
+            sink = new DeduplicatingIOLogSink(sink, new JdbcTemplate(dataSource), codec,
+                    deduplication.getMinSizeBytes(), deduplication.getCacheSize(), deduplication.getCacheTtl());
+        }
+
+        IOLoggerProperties.Spool spool = properties.getSpool();
+        if (spool.isEnabled()) {
+            SpoolJournal journal = new SpoolJournal(Path.of(spool.getDirectory()), spool.getSegmentSizeBytes(),
+                    spool.getMaxTotalSizeBytes(), spool.getMaxReplayAttempts());
+            return new SpoolingIOLogSink(sink, journal, spool.getReplayIntervalMs(), spool.getReplayBatchSize());
+        }
+        return sink;
+    }
+
+    @Bean(name = "ioLogSchemaUpgrader", initMethod = "upgrade")
+    @DependsOn("ioLoggerEntityManagerFactory")
+    @ConditionalOnProperty(prefix = "iologger.jpa.hibernate", name = "ddl-auto", havingValue = "update", matchIfMissing = true)
+    public IOLogSchemaUpgrader ioLogSchemaUpgrader(@Qualifier("ioLoggerDataSource") DataSource dataSource) {
+        return new IOLogSchemaUpgrader(new JdbcTemplate(dataSource));
+    }
+
+    @Bean(name = "ioLogQueryService")
+    public IOLogQueryService ioLogQueryService(IOLogEntryRepository ioLogEntryRepository,
+                                               @Qualifier("ioLoggerEntityManagerFactory") LocalContainerEntityManagerFactoryBean emf) {
+        return new IOLogQueryService(ioLogEntryRepository,
+                SharedEntityManagerCreator.createSharedEntityManager(emf.getObject()));
+    }
+
+    /**
+     * Rolls io_log_entries partitions forward and drops expired ones, and with deduplication deletes the
+     * io_log_blobs nothing refers to any more; depends on the entity manager factory so the table already
+     * exists when the first maintenance run converts it.
+     */
+    @Bean(name = "ioLogPartitionManager", initMethod = "start")
+    @DependsOn("ioLoggerEntityManagerFactory")
+    @ConditionalOnProperty(prefix = "iologger.partitioning", name = "enabled", havingValue = "true")
+    public IOLogPartitionManager ioLogPartitionManager(@Qualifier("ioLoggerDataSource") DataSource dataSource,
+                                                       IOLoggerProperties properties) {
+        IOLoggerProperties.Partitioning partitioning = properties.getPartitioning();
+        IOLoggerProperties.Deduplication deduplication = properties.getDeduplication();
+        // a blob cached by a writer must never look old enough to be deleted before its entry is written
+        if (deduplication.isEnabled() && deduplication.getCacheTtl().compareTo(partitioning.getRetention()) >= 0) {
+            throw new IllegalStateException("IOLogger: iologger.deduplication.cache-ttl must be shorter than "
+                    + "iologger.partitioning.retention");
+        }
+        return new IOLogPartitionManager(new JdbcTemplate(dataSource), partitioning.getGranularity(),
+                partitioning.getPrecreate(), partitioning.getRetention(), partitioning.getMaintenanceInterval(),
+                deduplication.isEnabled());
+    }
+
+    private PayloadCodec buildPayloadCodec(IOLoggerProperties.Compression compression) throws IOException {
+        PayloadDictionary writeDictionary = null;
+        for (String path : compression.getDictionaries()) {
+            PayloadDictionary dictionary = PayloadDictionary.load(Path.of(path));
+            PayloadCodec.registerDictionary(dictionary);
+            if (writeDictionary == null) writeDictionary = dictionary;
+        }
+        return new PayloadCodec(compression.getLevel(), compression.getMinSizeBytes(), writeDictionary);
+    }
 }
@@ -0,0 +1,20 @@
+package com.bank.iolog.config;
+
+import com.bank.iolog.query.IOLogEndpoint;
+import com.bank.iolog.query.IOLogQueryService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+@ConditionalOnProperty(prefix = "iologger", name = "enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnIOLogSink(IOLoggerProperties.SINK_DATABASE)
+public class IOLoggerEndpointConfig {
+
+    @Bean
+    public IOLogEndpoint ioLogEndpoint(IOLogQueryService ioLogQueryService) {
+        return new IOLogEndpoint(ioLogQueryService);
+    }
+}
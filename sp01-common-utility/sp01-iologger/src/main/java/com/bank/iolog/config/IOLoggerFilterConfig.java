@@ -1,33 +1,90 @@
 package com.bank.iolog.config;
 
+import com.bank.core.path.PublicPathMatcher;
+import com.bank.iolog.capture.CaptureBufferPool;
+import com.bank.iolog.enums.WriterMode;
 import com.bank.iolog.filter.RequestWrappingFilter;
-import com.bank.iolog.repository.IOLogEntryRepository;
+import com.bank.iolog.metrics.IOLoggerMetrics;
+import com.bank.iolog.policy.IOLogPolicy;
+import com.bank.iolog.redact.PayloadRedactor;
 import com.bank.iolog.service.IOLoggerService;
+import com.bank.iolog.sink.IOLogSink;
+import com.bank.iolog.util.RouteMatcher;
+import com.bank.iolog.writer.AsyncIOLogWriter;
+import com.bank.iolog.writer.IOLogWriter;
+import com.bank.iolog.writer.SyncIOLogWriter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
-import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.env.Environment;
 
 @Configuration
-@DependsOn("ioLoggerTransactionManager")
 @ConditionalOnProperty(prefix = "iologger", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(IOLoggerProperties.class)
 public class IOLoggerFilterConfig {
 
     @Value("${spring.application.name:unknown-service}")
     private String sourceApplication;
 
     @Bean
-    public IOLoggerService ioLoggerService(IOLogEntryRepository ioLogEntryRepository) {
-        return new IOLoggerService(ioLogEntryRepository);
+    @ConditionalOnMissingBean
+    public IOLogWriter ioLogWriter(IOLogSink ioLogSink, IOLoggerProperties properties, IOLoggerMetrics ioLoggerMetrics) {
+        IOLoggerProperties.Writer writer = properties.getWriter();
+        if (writer.getMode() == WriterMode.ASYNC) {
+            AsyncIOLogWriter asyncWriter = new AsyncIOLogWriter(ioLogSink, writer.getQueueCapacity(), writer.getBatchSize(),
+                    writer.getFlushIntervalMs(), writer.getThreads(), writer.getOverflowPolicy(),
+                    writer.getShutdownTimeoutMs(), properties.isVirtualThreads()
+                            ? Thread.ofVirtual().name("iolog-writer-", 0).factory()
+                            : Thread.ofPlatform().name("iolog-writer-", 0).daemon().factory());
+            ioLoggerMetrics.bindWriter(asyncWriter);
+            return asyncWriter;
+        }
+        return new SyncIOLogWriter(ioLogSink);
     }
 
     @Bean
-    public FilterRegistrationBean<RequestWrappingFilter> requestWrappingFilter(IOLoggerService ioLoggerService) {
+    @ConditionalOnMissingBean
+    public PayloadRedactor payloadRedactor(IOLoggerProperties properties) {
+        IOLoggerProperties.Redaction redaction = properties.getRedaction();
+        if (!redaction.isEnabled()) {
+            return PayloadRedactor.none();
+        }
+        return new PayloadRedactor(redaction.getFields(), redaction.getPaths(), redaction.getHeaders(),
+                redaction.getMask());
+    }
+
+    @Bean
+    public IOLoggerService ioLoggerService(IOLogWriter ioLogWriter, IOLoggerMetrics ioLoggerMetrics,
+                                           PayloadRedactor payloadRedactor) {
+        return new IOLoggerService(ioLogWriter, ioLoggerMetrics, payloadRedactor);
+    }
+
+    @Bean
+    public IOLogPolicy ioLogPolicy(IOLoggerProperties properties) {
+        return IOLogPolicy.from(properties.getPolicy());
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<RequestWrappingFilter> requestWrappingFilter(IOLoggerService ioLoggerService,
+                                                                               IOLogPolicy ioLogPolicy,
+                                                                               IOLoggerProperties properties,
+                                                                               IOLoggerMetrics ioLoggerMetrics,
+                                                                               Environment environment) {
+        IOLoggerProperties.Capture capture = properties.getCapture();
         FilterRegistrationBean<RequestWrappingFilter> registrationBean = new FilterRegistrationBean<>();
-        registrationBean.setFilter(new RequestWrappingFilter(ioLoggerService, sourceApplication));
+        registrationBean.setFilter(new RequestWrappingFilter(ioLoggerService, ioLogPolicy, sourceApplication,
+                RouteMatcher.compile(capture.getRequestBodyLimits()), capture.getMaxRequestBodyBytes(),
+                RouteMatcher.compile(capture.getResponseBodyLimits()), capture.getMaxResponseBodyBytes(),
+                ioLoggerMetrics, capture.getBufferPoolSize() > 0
+                        ? new CaptureBufferPool(capture.getBufferPoolSize())
+                        : CaptureBufferPool.none(), PublicPathMatcher.fromProperties(environment::getProperty)));
         registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE); // Ensure it runs before most filters
         registrationBean.addUrlPatterns("/*");
         registrationBean.setName("ioLoggerRequestWrappingFilter");
@@ -0,0 +1,225 @@
+package com.bank.iolog.config;
+
+import com.bank.iolog.enums.LogTier;
+import com.bank.iolog.enums.OverflowPolicy;
+import com.bank.iolog.enums.PartitionGranularity;
+import com.bank.iolog.enums.PersistenceMode;
+import com.bank.iolog.enums.WriterMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "iologger")
+@Setter
+@Getter
+public class IOLoggerProperties {
+
+    public static final String SINK_DATABASE = "database";
+    public static final String SINK_FILE = "file";
+    public static final String SINK_MEMORY = "memory";
+
+    // where entries go, in order: database (JPA/JDBC per iologger.persistence.mode), file, memory
+    private List<String> sinks = new ArrayList<>(List.of(SINK_DATABASE));
+
+    // run async writer workers and Rabbit listener consumers on virtual threads instead of platform threads;
+    // needs a JDBC driver that does not block inside synchronized (mysql-connector-j 9.x, not 8.0.x)
+    private boolean virtualThreads = false;
+
+    private Writer writer = new Writer();
+    private Persistence persistence = new Persistence();
+    private Capture capture = new Capture();
+    private Policy policy = new Policy();
+    private Spool spool = new Spool();
+    private Compression compression = new Compression();
+    private Deduplication deduplication = new Deduplication();
+    private Partitioning partitioning = new Partitioning();
+    private FileSink file = new FileSink();
+    private MemorySink memory = new MemorySink();
+    private Redaction redaction = new Redaction();
+    private Rabbit rabbit = new Rabbit();
+
+    @Setter
+    @Getter
+    public static class Writer {
+
+        // SYNC saves on the calling thread, ASYNC hands entries to background writer threads
+        private WriterMode mode = WriterMode.SYNC;
+        private int queueCapacity = 10_000;
+        private int batchSize = 200;
+        private long flushIntervalMs = 500;
+        private int threads = 1;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+        private long shutdownTimeoutMs = 10_000;
+    }
+
+    @Setter
+    @Getter
+    public static class Persistence {
+
+        // JPA goes through the repository, JDBC writes multi-row INSERTs and skips the entity lifecycle
+        private PersistenceMode mode = PersistenceMode.JPA;
+        private Jdbc jdbc = new Jdbc();
+
+        @Setter
+        @Getter
+        public static class Jdbc {
+
+            // rows per multi-row INSERT; a batch larger than this is split into several statements
+            private int rowsPerStatement = 100;
+        }
+    }
+
+    @Setter
+    @Getter
+    public static class Capture {
+
+        // bytes of each request body kept for logging; the rest is streamed through and only counted
+        private int maxRequestBodyBytes = 16 * 1024;
+        // per-route overrides keyed by path pattern, e.g. iologger.capture.request-body-limits[/api/documents/**]=0
+        private Map<String, Integer> requestBodyLimits = new LinkedHashMap<>();
+        // same for response bodies, which are written through to the client and mirrored up to this size
+        private int maxResponseBodyBytes = 16 * 1024;
+        private Map<String, Integer> responseBodyLimits = new LinkedHashMap<>();
+        // bytes of each consumed Rabbit message body kept for logging, stored as received
+        private int maxMessageBodyBytes = 16 * 1024;
+        // idle capture arrays kept per size class (512 B .. 1 MiB) for reuse; 0 disables pooling
+        private int bufferPoolSize = 64;
+    }
+
+    @Setter
+    @Getter
+    public static class Policy {
+
+        private PolicyRule defaults = new PolicyRule();
+        // keyed by path pattern, e.g. iologger.policy.routes[/actuator/**].tier=NONE
+        private Map<String, PolicyRule> routes = new LinkedHashMap<>();
+        // keyed by queue name (inbound) or routing key / exchange (outbound)
+        private Map<String, PolicyRule> queues = new LinkedHashMap<>();
+    }
+
+    @Setter
+    @Getter
+    public static class PolicyRule {
+
+        // fraction of exchanges persisted at 'tier'; the rest fall back to 'unsampledTier'
+        private double sampleRate = 1.0;
+        private LogTier tier = LogTier.FULL;
+        private LogTier unsampledTier = LogTier.NONE;
+        // 4xx/5xx responses and failed listeners are always kept in full
+        private boolean keepErrors = true;
+        // exchanges at least this slow are always kept in full; negative disables the check
+        private long slowThresholdMs = -1;
+    }
+
+    @Setter
+    @Getter
+    public static class Spool {
+
+        // when enabled, entries that cannot reach the log database are journaled to local disk and replayed later
+        private boolean enabled = false;
+        private String directory = System.getProperty("java.io.tmpdir") + "/iolog-spool";
+        private int segmentSizeBytes = 64 * 1024 * 1024;
+        // cap on all segments together; once reached new entries are dropped until replay frees space
+        private long maxTotalSizeBytes = 1024L * 1024 * 1024;
+        private long replayIntervalMs = 5_000;
+        private int replayBatchSize = 500;
+        // failed replays of one segment, other than for an unreachable database, before it is quarantined
+        private int maxReplayAttempts = 5;
+    }
+
+    @Setter
+    @Getter
+    public static class Compression {
+
+        // when enabled, header/payload are stored deflated in the header_data/payload_data columns
+        private boolean enabled = false;
+        private int level = 6;
+        // smaller values are stored raw, deflate overhead outweighs the gain
+        private int minSizeBytes = 256;
+        // dictionaries built with DictionaryTrainer; the first one is used for writing, all are used for reading
+        private List<String> dictionaries = new ArrayList<>();
+    }
+
+    @Setter
+    @Getter
+    public static class Deduplication {
+
+        // database sink only (MySQL); header/payload go to io_log_blobs once and rows keep their SHA-256
+        private boolean enabled = false;
+        // shorter values stay inline, a 64 char reference would not save anything
+        private int minSizeBytes = 128;
+        // hashes known to be stored, their blob insert is skipped
+        private int cacheSize = 50_000;
+        // a cached hash is inserted again after this long, refreshing the blob's created_at; must stay
+        // below partitioning.retention, which also removes blobs no entry refers to any more
+        private Duration cacheTtl = Duration.ofHours(1);
+    }
+
+    @Setter
+    @Getter
+    public static class Partitioning {
+
+        // MySQL only; converts io_log_entries to RANGE COLUMNS(timestamp) partitions on first start
+        private boolean enabled = false;
+        private PartitionGranularity granularity = PartitionGranularity.DAILY;
+        // number of future periods kept pre-created so inserts never land in p_future
+        private int precreate = 7;
+        // partitions whose whole range is older than this are dropped, with deduplication also unreferenced blobs
+        private Duration retention = Duration.ofDays(30);
+        private Duration maintenanceInterval = Duration.ofHours(1);
+    }
+
+    @Setter
+    @Getter
+    public static class FileSink {
+
+        // gzip-compressed NDJSON, one entry per line, rolled by uncompressed size
+        private String directory = System.getProperty("java.io.tmpdir") + "/iolog";
+        private String prefix = "iolog";
+        private long maxFileSizeBytes = 128L * 1024 * 1024;
+        // oldest files beyond this count are deleted on roll
+        private int maxFiles = 20;
+    }
+
+    @Setter
+    @Getter
+    public static class MemorySink {
+
+        // newest entries kept; older ones are evicted
+        private int capacity = 10_000;
+    }
+
+    @Setter
+    @Getter
+    public static class Redaction {
+
+        private boolean enabled = true;
+        // field names masked anywhere in a JSON body, case-insensitive
+        private List<String> fields = new ArrayList<>(List.of(
+                "password", "aadhaarNumber", "phoneNumber", "address", "dateOfBirth"));
+        // JSON paths such as $.customer.emailId or $.items[*].cardNumber; * matches any field name
+        private List<String> paths = new ArrayList<>();
+        // header names whose value is never logged, case-insensitive
+        private List<String> headers = new ArrayList<>(List.of(
+                "Authorization", "Proxy-Authorization", "Cookie", "Set-Cookie"));
+        private String mask = "***";
+    }
+
+    @Setter
+    @Getter
+    public static class Rabbit {
+
+        // how long an outbound entry waits for the broker's publisher confirm before it is logged as 504
+        private Duration confirmTimeout = Duration.ofSeconds(30);
+        // threads that write confirmed outbound entries, off the AMQP connection's confirm thread
+        private int confirmThreads = 1;
+        // confirmed entries waiting for those threads; beyond this they are dropped
+        private int confirmQueueCapacity = 10_000;
+    }
+}
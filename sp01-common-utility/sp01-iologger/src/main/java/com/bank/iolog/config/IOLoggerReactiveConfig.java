@@ -0,0 +1,57 @@
+package com.bank.iolog.config;
+
+import com.bank.core.path.PublicPathMatcher;
+import com.bank.iolog.capture.CaptureBufferPool;
+import com.bank.iolog.enums.OverflowPolicy;
+import com.bank.iolog.enums.WriterMode;
+import com.bank.iolog.metrics.IOLoggerMetrics;
+import com.bank.iolog.policy.IOLogPolicy;
+import com.bank.iolog.reactive.ReactiveRequestLoggingFilter;
+import com.bank.iolog.service.IOLoggerService;
+import com.bank.iolog.util.RouteMatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Registers {@link ReactiveRequestLoggingFilter} in WebFlux applications; the servlet filter from
+ * {@link IOLoggerFilterConfig} is skipped there. Writer, sinks and policy are shared with the servlet setup.
+ * The library brings spring-boot-starter-web along, so Netty services either exclude it or set
+ * {@code spring.main.web-application-type=reactive}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "iologger", name = "enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnClass(name = "org.springframework.web.reactive.HandlerMapping")
+public class IOLoggerReactiveConfig {
+
+    @Value("${spring.application.name:unknown-service}")
+    private String sourceApplication;
+
+    @Bean
+    public ReactiveRequestLoggingFilter reactiveRequestLoggingFilter(IOLoggerService ioLoggerService,
+                                                                     IOLogPolicy ioLogPolicy,
+                                                                     IOLoggerProperties properties,
+                                                                     IOLoggerMetrics ioLoggerMetrics,
+                                                                     Environment environment) {
+        IOLoggerProperties.Capture capture = properties.getCapture();
+        IOLoggerProperties.Writer writer = properties.getWriter();
+        // the async writer only enqueues unless it blocks on overflow; anything that may block leaves the event loop
+        Scheduler logScheduler = writer.getMode() == WriterMode.ASYNC && writer.getOverflowPolicy() != OverflowPolicy.BLOCK
+                ? Schedulers.immediate()
+                : Schedulers.boundedElastic();
+        return new ReactiveRequestLoggingFilter(ioLoggerService, ioLogPolicy, sourceApplication,
+                RouteMatcher.compile(capture.getRequestBodyLimits()), capture.getMaxRequestBodyBytes(),
+                RouteMatcher.compile(capture.getResponseBodyLimits()), capture.getMaxResponseBodyBytes(),
+                ioLoggerMetrics, capture.getBufferPoolSize() > 0
+                        ? new CaptureBufferPool(capture.getBufferPoolSize())
+                        : CaptureBufferPool.none(), PublicPathMatcher.fromProperties(environment::getProperty),
+                logScheduler);
+    }
+}
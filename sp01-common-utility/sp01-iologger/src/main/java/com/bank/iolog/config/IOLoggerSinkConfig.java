@@ -0,0 +1,82 @@
+package com.bank.iolog.config;
+
+import com.bank.iolog.metrics.IOLoggerMetrics;
+import com.bank.iolog.metrics.MeteredIOLogSink;
+import com.bank.iolog.sink.CompositeIOLogSink;
+import com.bank.iolog.sink.IOLogSink;
+import com.bank.iolog.sink.InMemoryIOLogSink;
+import com.bank.iolog.sink.RollingNdjsonFileSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Assembles the sink chain from {@code iologger.sinks}. Each named sink is a bean of its own, so the
+ * container closes it after the writer that feeds it; {@code ioLogSink} fans batches out to them in the
+ * configured order and records metrics. Without {@code database} no datasource or JPA is bootstrapped.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "iologger", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(IOLoggerProperties.class)
+public class IOLoggerSinkConfig {
+
+    /**
+     * Publishes to the application's MeterRegistry when there is one (actuator), otherwise records nothing.
+     */
+    @Bean(name = "ioLoggerMetrics")
+    public IOLoggerMetrics ioLoggerMetrics(ObjectProvider<MeterRegistry> meterRegistry,
+                                           @Value("${spring.application.name:unknown-service}") String application) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        return registry != null ? new IOLoggerMetrics(registry, application) : IOLoggerMetrics.noop();
+    }
+
+    @Bean(name = "ioLogFileSink")
+    @ConditionalOnIOLogSink(IOLoggerProperties.SINK_FILE)
+    public RollingNdjsonFileSink ioLogFileSink(IOLoggerProperties properties) throws IOException {
+        IOLoggerProperties.FileSink file = properties.getFile();
+        return new RollingNdjsonFileSink(Path.of(file.getDirectory()), file.getPrefix(),
+                file.getMaxFileSizeBytes(), file.getMaxFiles());
+    }
+
+    @Bean(name = "ioLogMemorySink")
+    @ConditionalOnIOLogSink(IOLoggerProperties.SINK_MEMORY)
+    public InMemoryIOLogSink ioLogMemorySink(IOLoggerProperties properties) {
+        return new InMemoryIOLogSink(properties.getMemory().getCapacity());
+    }
+
+    @Bean(name = "ioLogSink")
+    @Primary
+    public IOLogSink ioLogSink(IOLoggerProperties properties, IOLoggerMetrics ioLoggerMetrics,
+                               @Qualifier("ioLogDatabaseSink") Optional<IOLogSink> databaseSink,
+                               @Qualifier("ioLogFileSink") Optional<RollingNdjsonFileSink> fileSink,
+                               @Qualifier("ioLogMemorySink") Optional<InMemoryIOLogSink> memorySink) {
+        List<IOLogSink> sinks = new ArrayList<>();
+        for (String name : properties.getSinks()) {
+            Optional<? extends IOLogSink> sink = switch (name.trim().toLowerCase()) {
+                case IOLoggerProperties.SINK_DATABASE -> databaseSink;
+                case IOLoggerProperties.SINK_FILE -> fileSink;
+                case IOLoggerProperties.SINK_MEMORY -> memorySink;
+                default -> throw new IllegalStateException("IOLogger: unknown sink '" + name
+                        + "' in iologger.sinks, expected database, file or memory");
+            };
+            sink.ifPresent(sinks::add);
+        }
+        if (sinks.isEmpty()) {
+            throw new IllegalStateException("IOLogger: iologger.sinks must name at least one sink");
+        }
+        IOLogSink sink = sinks.size() == 1 ? sinks.get(0) : new CompositeIOLogSink(sinks);
+        return new MeteredIOLogSink(sink, ioLoggerMetrics);
+    }
+}
@@ -1,11 +1,15 @@
 package com.bank.iolog.config;
 
+import com.bank.iolog.amqp.RabbitOutboundLoggingPostProcessor;
+import com.bank.iolog.amqp.RabbitTemplateLoggingConfigurer;
 import com.bank.iolog.aspect.RabbitInboundLoggerAspect;
-import com.bank.iolog.aspect.RabbitOutboundLoggerAspect;
+import com.bank.iolog.metrics.IOLoggerMetrics;
+import com.bank.iolog.policy.IOLogPolicy;
 import com.bank.iolog.service.IOLoggerService;
 import org.aopalliance.aop.Advice;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -14,6 +18,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 
 @Configuration
 @ConditionalOnClass(name = "org.springframework.amqp.rabbit.core.RabbitTemplate")
@@ -25,13 +30,29 @@ public class IORabbitLoggerAutoConfiguration {
     private String appName;
 
     @Bean
-    public RabbitOutboundLoggerAspect rabbitOutboundLoggerAspect(IOLoggerService ioLoggerService) {
-        return new RabbitOutboundLoggerAspect(ioLoggerService);
+    public RabbitOutboundLoggingPostProcessor rabbitOutboundLoggingPostProcessor(
+            IOLoggerService ioLoggerService, IOLogPolicy ioLogPolicy, IOLoggerProperties properties,
+            ConnectionFactory connectionFactory, IOLoggerMetrics ioLoggerMetrics) {
+        IOLoggerProperties.Rabbit rabbit = properties.getRabbit();
+        return new RabbitOutboundLoggingPostProcessor(ioLoggerService, ioLogPolicy, appName,
+                properties.getCapture().getMaxMessageBodyBytes(), connectionFactory.isPublisherConfirms(),
+                rabbit.getConfirmTimeout(), rabbit.getConfirmThreads(), rabbit.getConfirmQueueCapacity(),
+                ioLoggerMetrics);
     }
 
+    // static: a BeanPostProcessor must not force this configuration class to initialize early
     @Bean
-    public RabbitInboundLoggerAspect rabbitInboundLoggerAspect(IOLoggerService ioLoggerService) {
-        return new RabbitInboundLoggerAspect(ioLoggerService, appName);
+    public static RabbitTemplateLoggingConfigurer rabbitTemplateLoggingConfigurer(
+            ObjectProvider<RabbitOutboundLoggingPostProcessor> rabbitOutboundLoggingPostProcessor) {
+        return new RabbitTemplateLoggingConfigurer(rabbitOutboundLoggingPostProcessor);
+    }
+
+    @Bean
+    public RabbitInboundLoggerAspect rabbitInboundLoggerAspect(IOLoggerService ioLoggerService, IOLogPolicy ioLogPolicy,
+                                                               IOLoggerProperties properties,
+                                                               IOLoggerMetrics ioLoggerMetrics) {
+        return new RabbitInboundLoggerAspect(ioLoggerService, ioLogPolicy, appName,
+                properties.getCapture().getMaxMessageBodyBytes(), ioLoggerMetrics);
     }
 
     @Bean
@@ -39,7 +60,8 @@ public class IORabbitLoggerAutoConfiguration {
     public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
             ConnectionFactory connectionFactory,
             SimpleRabbitListenerContainerFactoryConfigurer configurer,
-            RabbitInboundLoggerAspect rabbitInboundLoggerAspect) {
+            RabbitInboundLoggerAspect rabbitInboundLoggerAspect,
+            IOLoggerProperties properties) {
 
         // Create the listener container factory
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
@@ -47,6 +69,12 @@ public class IORabbitLoggerAutoConfiguration {
         // Apply Spring Boot’s default settings (like concurrency, prefetch, etc.)
         configurer.configure(factory, connectionFactory);
 
+        // one virtual thread per consumer; listener code blocking on JDBC or HTTP releases its carrier,
+        // unless it blocks inside synchronized (Java 21 pins the carrier there)
+        if (properties.isVirtualThreads()) {
+            factory.setTaskExecutor(new VirtualThreadTaskExecutor("iolog-rabbit-"));
+        }
+
         // Attach your inbound logging advice to the listener factory
         factory.setAdviceChain(new Advice[]{ rabbitInboundLoggerAspect });
 
@@ -0,0 +1,28 @@
+package com.bank.iolog.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.List;
+import java.util.Map;
+
+class OnIOLogSinkCondition extends SpringBootCondition {
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnIOLogSink.class.getName());
+        String sink = (String) attributes.get("value");
+        // bound like the properties class, so both "a,b" and indexed list syntax work
+        List<String> sinks = Binder.get(context.getEnvironment())
+                .bind("iologger.sinks", Bindable.listOf(String.class))
+                .orElse(List.of(IOLoggerProperties.SINK_DATABASE));
+        boolean enabled = sinks.stream().anyMatch(s -> s.trim().equalsIgnoreCase(sink));
+        return enabled
+                ? ConditionOutcome.match("IO log sink '" + sink + "' is enabled")
+                : ConditionOutcome.noMatch("IO log sink '" + sink + "' is not in iologger.sinks " + sinks);
+    }
+}
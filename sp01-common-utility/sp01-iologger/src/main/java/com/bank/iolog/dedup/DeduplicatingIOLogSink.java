@@ -0,0 +1,123 @@
+package com.bank.iolog.dedup;
+
+import com.bank.iolog.codec.PayloadCodec;
+import com.bank.iolog.entity.IOLogEntry;
+import com.bank.iolog.sink.IOLogSink;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Stores each distinct header and payload once in {@code io_log_blobs}, keyed by its SHA-256, and hands
+ * on copies of the entries that carry only the hash. Blobs are written before the entries that refer to
+ * them as an upsert, so concurrent writers and other instances never conflict; hashes written recently
+ * are remembered in a bounded cache and not sent again. Values shorter than {@code minSizeBytes} stay
+ * inline, a reference would not be smaller. MySQL only.
+ * <p>
+ * A repeated insert only moves the blob's {@code created_at} forward, and cached hashes expire after
+ * {@code cacheTtl}, so {@code created_at} is never more than {@code cacheTtl} older than the newest entry
+ * referencing the blob. {@link com.bank.iolog.partition.IOLogPartitionManager} relies on that to delete
+ * blobs nothing refers to any more; without partitioning blobs are kept as long as the entries are.
+ * <p>
+ * With a {@link PayloadCodec} blob content is stored compressed in {@code content_data}.
+ */
+public class DeduplicatingIOLogSink implements IOLogSink {
+
+    private static final String INSERT_BLOB =
+            "INSERT INTO io_log_blobs (hash, content, content_data, created_at) VALUES (?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE created_at = GREATEST(created_at, VALUES(created_at))";
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final IOLogSink delegate;
+    private final JdbcTemplate jdbcTemplate;
+    private final PayloadCodec codec;
+    private final int minSizeBytes;
+    private final RecentHashCache recentHashes;
+
+    public DeduplicatingIOLogSink(IOLogSink delegate, JdbcTemplate jdbcTemplate, PayloadCodec codec,
+                                  int minSizeBytes, int cacheSize, Duration cacheTtl) {
+        this.delegate = delegate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.codec = codec;
+        this.minSizeBytes = minSizeBytes;
+        this.recentHashes = new RecentHashCache(cacheSize, cacheTtl.toMillis());
+    }
+
+    @Override
+    public void write(List<IOLogEntry> entries) {
+        Map<String, String> newBlobs = new LinkedHashMap<>();
+        List<IOLogEntry> references = new ArrayList<>(entries.size());
+        for (IOLogEntry entry : entries) {
+            IOLogEntry copy = entry.toBuilder().build();
+            String headerHash = hashIfLarge(copy.getHeader());
+            if (headerHash != null) {
+                collect(headerHash, copy.getHeader(), newBlobs);
+                copy.setHeaderHash(headerHash);
+                copy.setHeader(null);
+            }
+            String payloadHash = hashIfLarge(copy.getPayload());
+            if (payloadHash != null) {
+                collect(payloadHash, copy.getPayload(), newBlobs);
+                copy.setPayloadHash(payloadHash);
+                copy.setPayload(null);
+            }
+            references.add(copy);
+        }
+
+        if (!newBlobs.isEmpty()) {
+            insertBlobs(newBlobs);
+            newBlobs.keySet().forEach(recentHashes::add);
+        }
+        delegate.write(references);
+    }
+
+    private void collect(String hash, String content, Map<String, String> newBlobs) {
+        if (!recentHashes.contains(hash)) {
+            newBlobs.putIfAbsent(hash, content);
+        }
+    }
+
+    private void insertBlobs(Map<String, String> blobs) {
+        Calendar utc = Calendar.getInstance(UTC);
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Map.Entry<String, String>> rows = new ArrayList<>(blobs.entrySet());
+        jdbcTemplate.batchUpdate(INSERT_BLOB, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.getKey());
+            if (codec != null) {
+                ps.setString(2, null);
+                ps.setBytes(3, codec.encode(row.getValue()));
+            } else {
+                ps.setString(2, row.getValue());
+                ps.setBytes(3, null);
+            }
+            ps.setTimestamp(4, now, utc);
+        });
+    }
+
+    private String hashIfLarge(String value) {
+        // char count is a cheap lower bound of the UTF-8 size
+        if (value == null || value.length() < minSizeBytes) return null;
+        return HEX.formatHex(sha256().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.bank.iolog.dedup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded LRU set of blob hashes known to be stored, so repeated content skips the blob insert.
+ * A hash that was evicted is simply inserted again, which refreshes the blob's {@code created_at}.
+ * Hashes also expire after {@code maxAgeMillis}, so a blob that keeps being referenced is re-stamped
+ * at least that often and never looks older than the entries pointing at it.
+ */
+class RecentHashCache {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Long> hashes;
+    private final long maxAgeMillis;
+
+    RecentHashCache(int capacity, long maxAgeMillis) {
+        int maxSize = Math.max(1, capacity);
+        this.maxAgeMillis = maxAgeMillis;
+        this.hashes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    boolean contains(String hash) {
+        lock.lock();
+        try {
+            // get, not containsKey, so a hit counts as a use for the LRU order
+            Long storedAt = hashes.get(hash);
+            if (storedAt == null) return false;
+            if (System.currentTimeMillis() - storedAt >= maxAgeMillis) {
+                hashes.remove(hash);
+                return false;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void add(String hash) {
+        lock.lock();
+        try {
+            hashes.put(hash, System.currentTimeMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
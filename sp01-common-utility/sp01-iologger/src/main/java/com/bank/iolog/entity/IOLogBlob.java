@@ -0,0 +1,38 @@
+package com.bank.iolog.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A header or payload stored once and referenced from {@link IOLogEntry} by its SHA-256 hash.
+ * Like the entry columns, the text is kept either as is or compressed in {@code content_data}.
+ * {@code created_at} moves forward whenever the blob is written again, so it tracks recent use.
+ */
+@Entity
+@Table(name = "io_log_blobs")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class IOLogBlob {
+
+    @Id
+    @Column(name = "hash", length = 64, nullable = false)
+    private String hash;
+
+    @Lob
+    @Column(columnDefinition = "LONGTEXT")
+    private String content;
+
+    @Lob
+    @Column(name = "content_data", columnDefinition = "LONGBLOB")
+    private byte[] contentData;
+
+    @Column(name = "created_at", nullable = false, columnDefinition = "DATETIME(6)")
+    private Instant createdAt;
+}
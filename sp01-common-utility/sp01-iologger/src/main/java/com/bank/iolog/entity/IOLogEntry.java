@@ -11,18 +11,26 @@ import lombok.NoArgsConstructor;
 import java.time.Instant;
 
 @Entity
-@Table(name = "io_log_entries")
+@Table(name = "io_log_entries", indexes = {
+        @Index(name = "idx_io_log_trace_ts", columnList = "trace_id, timestamp"),
+        @Index(name = "idx_io_log_ts", columnList = "timestamp"),
+        @Index(name = "idx_io_log_app_ts", columnList = "source_application, timestamp"),
+        @Index(name = "idx_io_log_header_hash", columnList = "header_hash"),
+        @Index(name = "idx_io_log_payload_hash", columnList = "payload_hash")
+})
+@EntityListeners(IOLogEntryListener.class)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class IOLogEntry {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "trace_id", length = 10, nullable = false)
+    // 32 hex chars from TraceIdGenerator, the width of a W3C trace-id
+    @Column(name = "trace_id", length = 32, nullable = false)
     private String traceId;
 
     @Column(name = "source_application", length = 100, nullable = false)
@@ -47,6 +55,25 @@ public class IOLogEntry {
     @Column(columnDefinition = "LONGTEXT")
     private String payload;
 
+    // compressed forms of header/payload, see PayloadCodec; only one of text or data is set
+    @Lob
+    @Column(name = "header_data", columnDefinition = "LONGBLOB")
+    private byte[] headerData;
+
+    @Lob
+    @Column(name = "payload_data", columnDefinition = "LONGBLOB")
+    private byte[] payloadData;
+
+    // SHA-256 of header/payload stored once in io_log_blobs, see DeduplicatingIOLogSink
+    @Column(name = "header_hash", length = 64)
+    private String headerHash;
+
+    @Column(name = "payload_hash", length = 64)
+    private String payloadHash;
+
+    @Column(name = "payload_truncated")
+    private Boolean payloadTruncated;
+
     @Column(name = "http_status")
     private Integer httpStatus;
 
@@ -0,0 +1,21 @@
+package com.bank.iolog.entity;
+
+import com.bank.iolog.codec.PayloadCodec;
+import jakarta.persistence.PostLoad;
+
+/**
+ * Restores header and payload text from the compressed columns when an entry is loaded, so readers
+ * see the same entity whether or not compression was enabled when it was written.
+ */
+public class IOLogEntryListener {
+
+    @PostLoad
+    public void decode(IOLogEntry entry) {
+        if (entry.getHeader() == null && entry.getHeaderData() != null) {
+            entry.setHeader(PayloadCodec.decode(entry.getHeaderData()));
+        }
+        if (entry.getPayload() == null && entry.getPayloadData() != null) {
+            entry.setPayload(PayloadCodec.decode(entry.getPayloadData()));
+        }
+    }
+}
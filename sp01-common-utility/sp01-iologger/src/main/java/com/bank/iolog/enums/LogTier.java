@@ -0,0 +1,8 @@
+package com.bank.iolog.enums;
+
+public enum LogTier {
+
+    NONE,
+    METADATA,
+    FULL
+}
@@ -0,0 +1,8 @@
+package com.bank.iolog.enums;
+
+public enum OverflowPolicy {
+
+    BLOCK,
+    DROP_OLDEST,
+    METADATA_ONLY
+}
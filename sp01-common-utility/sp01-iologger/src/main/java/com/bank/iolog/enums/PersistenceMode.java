@@ -0,0 +1,7 @@
+package com.bank.iolog.enums;
+
+public enum PersistenceMode {
+
+    JPA,
+    JDBC
+}
@@ -0,0 +1,133 @@
+package com.bank.iolog.filter;
+
+import com.bank.iolog.capture.CaptureBuffer;
+import com.bank.iolog.capture.CaptureBufferPool;
+import com.bank.iolog.util.IOLoggerUtil;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+/**
+ * Request wrapper that streams the body through to the application untouched and tees only the
+ * first {@code captureLimit} bytes into a {@link CaptureBuffer} for logging. Nothing is read ahead,
+ * so large uploads are never materialized in memory by the logger.
+ */
+public class BodyCapturingHttpServletRequest extends HttpServletRequestWrapper {
+
+    private final CaptureBuffer capture;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    public BodyCapturingHttpServletRequest(HttpServletRequest request, int captureLimit) {
+        this(request, captureLimit, CaptureBufferPool.none());
+    }
+
+    public BodyCapturingHttpServletRequest(HttpServletRequest request, int captureLimit, CaptureBufferPool pool) {
+        super(request);
+        this.capture = new CaptureBuffer(captureLimit, pool);
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new TeeInputStream(super.getInputStream());
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            reader = new BufferedReader(new InputStreamReader(getInputStream(),
+                    IOLoggerUtil.resolveCharset(getCharacterEncoding())));
+        }
+        return reader;
+    }
+
+    /**
+     * Pulls whatever part of the body the application left unread, but only up to the capture
+     * limit, so bodies of handlers that never touched the stream are still logged. Once the limit is
+     * reached one more byte is read, so a longer body is reported as truncated.
+     */
+    public void completeCapture() {
+        try {
+            ServletInputStream in = getInputStream();
+            if (in.isFinished()) return;
+            if (capture.remaining() > 0) {
+                byte[] chunk = new byte[Math.min(capture.remaining(), 4096)];
+                int read;
+                while (capture.remaining() > 0
+                        && (read = in.read(chunk, 0, Math.min(chunk.length, capture.remaining()))) != -1) {
+                    // bytes are captured by the tee stream itself
+                    if (read == 0) break;
+                }
+            }
+            // the tee counts the probed byte, which is what marks the capture truncated
+            if (capture.remaining() <= 0 && !capture.isTruncated()) {
+                in.read();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the container may already have consumed or closed the stream
+        }
+    }
+
+    public String getCapturedBody() {
+        return capture.toString(IOLoggerUtil.resolveCharset(getCharacterEncoding()));
+    }
+
+    public boolean isBodyTruncated() {
+        return capture.isTruncated();
+    }
+
+    // closes the capture and returns its storage to the pool; call once the captured body has been read
+    public void releaseCapture() {
+        capture.release();
+    }
+
+    private class TeeInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+
+        private TeeInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1) {
+                capture.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = delegate.read(b, off, len);
+            if (n > 0) {
+                capture.write(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.bank.iolog.filter;
+
+import com.bank.iolog.capture.CaptureBuffer;
+import com.bank.iolog.capture.CaptureBufferPool;
+import com.bank.iolog.util.IOLoggerUtil;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * Response wrapper that writes straight through to the container's output stream and mirrors only
+ * the first {@code captureLimit} bytes for logging. Unlike a content-caching wrapper it holds
+ * nothing back, so time-to-first-byte and streamed responses (exports, SSE) are unaffected.
+ */
+public class BodyCapturingHttpServletResponse extends HttpServletResponseWrapper {
+
+    private final CaptureBuffer capture;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    public BodyCapturingHttpServletResponse(HttpServletResponse response, int captureLimit) {
+        this(response, captureLimit, CaptureBufferPool.none());
+    }
+
+    public BodyCapturingHttpServletResponse(HttpServletResponse response, int captureLimit, CaptureBufferPool pool) {
+        super(response);
+        this.capture = new CaptureBuffer(captureLimit, pool);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new WriteThroughPrintWriter(getOutputStream(), IOLoggerUtil.resolveCharset(getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        flushWriter();
+        super.flushBuffer();
+    }
+
+    /**
+     * Flushes our {@link PrintWriter} through to the container. Characters never wait in its encoder,
+     * so this only pushes out what the container itself has buffered.
+     */
+    public void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    public String getCapturedBody() {
+        return capture.toString(IOLoggerUtil.resolveCharset(getCharacterEncoding()));
+    }
+
+    public boolean isBodyTruncated() {
+        return capture.isTruncated();
+    }
+
+    // stops mirroring, also against a write in progress on another thread; the captured body stays readable
+    public void closeCapture() {
+        capture.close();
+    }
+
+    // closes the capture and returns its storage to the pool; call once the captured body has been read
+    public void releaseCapture() {
+        capture.release();
+    }
+
+    public long getBodyLength() {
+        return capture.getTotalBytes();
+    }
+
+    private class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            capture.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+
+    /**
+     * Drains the encoder into the tee stream after every write, so no characters are held back from
+     * the container, e.g. when an async response is completed before the filter regains control.
+     * Only an explicit {@link #flush()} flushes the container's stream.
+     */
+    private static final class WriteThroughPrintWriter extends PrintWriter {
+
+        private final ServletOutputStream target;
+
+        private WriteThroughPrintWriter(ServletOutputStream target, Charset charset) {
+            super(new OutputStreamWriter(new EncoderSink(target), charset), true);
+            this.target = target;
+        }
+
+        @Override
+        public void write(int c) {
+            super.write(c);
+            super.flush();
+        }
+
+        @Override
+        public void write(char[] buf, int off, int len) {
+            super.write(buf, off, len);
+            super.flush();
+        }
+
+        @Override
+        public void write(String s, int off, int len) {
+            super.write(s, off, len);
+            super.flush();
+        }
+
+        @Override
+        public void flush() {
+            super.flush();
+            try {
+                target.flush();
+            } catch (IOException e) {
+                setError();
+            }
+        }
+    }
+
+    // passes encoded bytes on but no flushes, which would commit a chunk to the client on every write
+    private static final class EncoderSink extends OutputStream {
+
+        private final OutputStream target;
+
+        private EncoderSink(OutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            target.close();
+        }
+    }
+}
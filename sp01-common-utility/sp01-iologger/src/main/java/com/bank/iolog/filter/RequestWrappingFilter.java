@@ -1,22 +1,37 @@
 package com.bank.iolog.filter;
 
+import com.bank.core.path.PublicPathMatcher;
+import com.bank.core.trace.TraceIdGenerator;
+import com.bank.core.trace.TraceParent;
+import com.bank.iolog.capture.CaptureBufferPool;
+import com.bank.iolog.enums.ChannelType;
+import com.bank.iolog.enums.LogTier;
+import com.bank.iolog.metrics.IOLoggerMetrics;
+import com.bank.iolog.policy.IOLogPolicy;
 import com.bank.iolog.service.IOLoggerService;
 import com.bank.iolog.util.IOLoggerConstant;
 import com.bank.iolog.util.IOLoggerUtil;
+import com.bank.iolog.util.RouteMatcher;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.http.MediaType;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.UrlPathHelper;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
 import java.util.Optional;
@@ -25,74 +40,120 @@ import java.util.stream.Collectors;
 public class RequestWrappingFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(RequestWrappingFilter.class);
+    // W3C Trace Context level 2 response header, same format as traceparent
+    private static final String TRACE_RESPONSE_HEADER = "traceresponse";
 
     private final IOLoggerService ioLoggerService;
+    private final IOLogPolicy policy;
     private final String sourceApplication;
+    private final RouteMatcher<Integer> requestBodyLimits;
+    private final int defaultRequestBodyLimit;
+    private final RouteMatcher<Integer> responseBodyLimits;
+    private final int defaultResponseBodyLimit;
+    private final IOLoggerMetrics metrics;
+    private final CaptureBufferPool bufferPool;
+    private final PublicPathMatcher excludedPaths;
 
-    public RequestWrappingFilter(IOLoggerService ioLoggerService, String sourceApplication) {
+    public RequestWrappingFilter(IOLoggerService ioLoggerService, IOLogPolicy policy, String sourceApplication,
+                                 RouteMatcher<Integer> requestBodyLimits, int defaultRequestBodyLimit,
+                                 RouteMatcher<Integer> responseBodyLimits, int defaultResponseBodyLimit,
+                                 IOLoggerMetrics metrics) {
+        this(ioLoggerService, policy, sourceApplication, requestBodyLimits, defaultRequestBodyLimit,
+                responseBodyLimits, defaultResponseBodyLimit, metrics, CaptureBufferPool.none());
+    }
+
+    public RequestWrappingFilter(IOLoggerService ioLoggerService, IOLogPolicy policy, String sourceApplication,
+                                 RouteMatcher<Integer> requestBodyLimits, int defaultRequestBodyLimit,
+                                 RouteMatcher<Integer> responseBodyLimits, int defaultResponseBodyLimit,
+                                 IOLoggerMetrics metrics, CaptureBufferPool bufferPool) {
+        this(ioLoggerService, policy, sourceApplication, requestBodyLimits, defaultRequestBodyLimit,
+                responseBodyLimits, defaultResponseBodyLimit, metrics, bufferPool, PublicPathMatcher.none());
+    }
+
+    public RequestWrappingFilter(IOLoggerService ioLoggerService, IOLogPolicy policy, String sourceApplication,
+                                 RouteMatcher<Integer> requestBodyLimits, int defaultRequestBodyLimit,
+                                 RouteMatcher<Integer> responseBodyLimits, int defaultResponseBodyLimit,
+                                 IOLoggerMetrics metrics, CaptureBufferPool bufferPool,
+                                 PublicPathMatcher excludedPaths) {
         this.ioLoggerService = ioLoggerService;
+        this.policy = policy;
         this.sourceApplication = sourceApplication;
+        this.requestBodyLimits = requestBodyLimits;
+        this.defaultRequestBodyLimit = defaultRequestBodyLimit;
+        this.responseBodyLimits = responseBodyLimits;
+        this.defaultResponseBodyLimit = defaultResponseBodyLimit;
+        this.metrics = metrics;
+        this.bufferPool = bufferPool;
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // probes and scrapes are neither wrapped nor logged
+        return excludedPaths.matches(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        // Prepare wrappers (prefer CachedBodyHttpServletRequest when possible)
-        ContentCachingRequestWrapper wrappedRequest;
-        CachedBodyHttpServletRequest cachedRequest = null;
+        // patterns are application paths: no context path, decoded, without ;jsessionid or duplicate slashes
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
 
-        if (request instanceof ContentCachingRequestWrapper) {
-            wrappedRequest = (ContentCachingRequestWrapper) request;
-        } else {
-            try {
-                cachedRequest = new CachedBodyHttpServletRequest(request);
-                wrappedRequest = new ContentCachingRequestWrapper(cachedRequest);
-            } catch (IOException e) {
-                wrappedRequest = new ContentCachingRequestWrapper(request);
-            }
-        }
+        // Stream the body through and keep only a capped prefix of it for logging
+        BodyCapturingHttpServletRequest wrappedRequest = request instanceof BodyCapturingHttpServletRequest capturingRequest
+                ? capturingRequest
+                : new BodyCapturingHttpServletRequest(request,
+                        requestBodyLimits.match(path, defaultRequestBodyLimit), bufferPool);
 
-        ContentCachingResponseWrapper wrappedResponse = response instanceof ContentCachingResponseWrapper
-                ? (ContentCachingResponseWrapper) response
-                : new ContentCachingResponseWrapper(response);
+        // Write the response through immediately and mirror only a capped prefix of it
+        BodyCapturingHttpServletResponse wrappedResponse = response instanceof BodyCapturingHttpServletResponse capturingResponse
+                ? capturingResponse
+                : new BodyCapturingHttpServletResponse(response,
+                        responseBodyLimits.match(path, defaultResponseBodyLimit), bufferPool);
+        // wrappers handed in by an outer instance are closed and released by that instance
+        boolean ownsRequestCapture = wrappedRequest != request;
+        boolean ownsResponseCapture = wrappedResponse != response;
 
         // record start time for ordering
         Instant startTs = Instant.now();
         wrappedRequest.setAttribute(IOLoggerConstant.REQUEST_START_TIME, startTs);
 
+        // resolve the trace before the chain runs so outbound calls (Feign, Rabbit) can propagate it
+        String traceId = resolveTraceId(wrappedRequest);
+        Object traceParent = wrappedRequest.getAttribute(TraceParent.HEADER);
+        if (traceParent instanceof TraceParent parent) {
+            wrappedResponse.setHeader(TRACE_RESPONSE_HEADER, parent.format());
+        }
+        MDC.put(IOLoggerConstant.TRACE_ID, traceId);
+
         // make wrapped request/response visible through RequestContextHolder
         ServletRequestAttributes previousAttributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
         RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(wrappedRequest, wrappedResponse));
 
+        boolean failed = false;
         try {
             // Proceed with filter chain
             filterChain.doFilter(wrappedRequest, wrappedResponse);
-
-            // Resolve request body, trace id, resource and response headers using helper methods
-            String cachedBody = resolveRequestBody(wrappedRequest, cachedRequest);
-            String traceId = resolveTraceId(wrappedRequest);
-            String resource = IOLoggerUtil.buildFullResource(wrappedRequest);
-            Map<String, String> responseHeaders = collectResponseHeaders(wrappedResponse);
-
-            // Debug lengths (best-effort)
-            try {
-                int reqLen = cachedBody != null ? cachedBody.length() : wrappedRequest.getContentAsByteArray().length;
-                int respLen = wrappedResponse.getContentAsByteArray().length;
-                log.debug("IOLogger: traceId={} resource={} reqLen={} respLen={}", traceId, resource, reqLen, respLen);
-            } catch (Exception e) {
-                log.debug("IOLogger: unable to compute body lengths", e);
-            }
-
-            // Log inbound and outbound using helper methods (best-effort)
-            logInbound(cachedBody, wrappedRequest, traceId, resource, startTs);
-            logOutbound(wrappedResponse, traceId, resource, responseHeaders);
-
+        } catch (IOException | ServletException | RuntimeException e) {
+            failed = true;
+            throw e;
         } finally {
-            // Ensure response body is copied back and restore previous RequestAttributes
             try {
-                wrappedResponse.copyBodyToResponse();
+                if (!failed && isAsyncStarted(wrappedRequest)) {
+                    // DeferredResult, Callable or CompletableFuture handler: the response is written on a later
+                    // dispatch, so capture finishes when the async cycle completes
+                    wrappedRequest.getAsyncContext().addListener(
+                            new AsyncCaptureListener(wrappedRequest, wrappedResponse, startTs, traceId,
+                                    ownsRequestCapture, ownsResponseCapture));
+                } else {
+                    finishCapture(wrappedRequest, wrappedResponse, startTs,
+                            failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : null, ownsRequestCapture,
+                            ownsResponseCapture);
+                }
             } finally {
+                MDC.remove(IOLoggerConstant.TRACE_ID);
+                // Restore previous RequestAttributes; the body has already been written through
                 if (previousAttributes != null) {
                     RequestContextHolder.setRequestAttributes(previousAttributes);
                 } else {
@@ -102,26 +163,75 @@ public class RequestWrappingFilter extends OncePerRequestFilter {
         }
     }
 
-    // Helper: resolve the request body from attribute, cached wrapper, or content wrapper
-    private String resolveRequestBody(ContentCachingRequestWrapper wrappedRequest, CachedBodyHttpServletRequest cachedRequest) {
+    // statusOverride replaces the response status when the container has not set the final one yet
+    private void finishCapture(BodyCapturingHttpServletRequest wrappedRequest,
+                               BodyCapturingHttpServletResponse wrappedResponse, Instant startTs,
+                               Integer statusOverride, boolean ownsRequestCapture, boolean ownsResponseCapture) {
+        try {
+            wrappedResponse.flushWriter();
+            // after an async timeout or error the container may still be writing; nothing more is mirrored
+            if (ownsResponseCapture) {
+                wrappedResponse.closeCapture();
+            }
+            long captureStart = System.nanoTime();
+            int status = statusOverride != null ? statusOverride : wrappedResponse.getStatus();
+            logExchange(wrappedRequest, wrappedResponse, startTs, status);
+            metrics.recordCapture(ChannelType.REST, resolveRoute(wrappedRequest), System.nanoTime() - captureStart);
+        } finally {
+            // bodies were decoded into the entries above, the buffers can serve the next request;
+            // release closes first, so a late write can never land in an array another request borrowed
+            if (ownsRequestCapture) {
+                wrappedRequest.releaseCapture();
+            }
+            if (ownsResponseCapture) {
+                wrappedResponse.releaseCapture();
+            }
+        }
+    }
+
+    private void logExchange(BodyCapturingHttpServletRequest wrappedRequest, BodyCapturingHttpServletResponse wrappedResponse,
+                             Instant startTs, int status) {
+        // Decide only now that status and latency are known, so errors and slow calls are never sampled away.
+        // An exception escaping the chain becomes a 500 once the container handles it.
+        long latencyMillis = Duration.between(startTs, Instant.now()).toMillis();
+        LogTier tier = policy.decideHttp(UrlPathHelper.defaultInstance.getPathWithinApplication(wrappedRequest), status,
+                latencyMillis);
+        if (tier == LogTier.NONE) {
+            return;
+        }
+
+        // Resolve request body, trace id, resource and response headers using helper methods
+        String cachedBody = tier == LogTier.FULL ? resolveRequestBody(wrappedRequest) : null;
+        String traceId = resolveTraceId(wrappedRequest);
+        String resource = IOLoggerUtil.buildFullResource(wrappedRequest);
+        Map<String, String> responseHeaders = tier == LogTier.FULL ? collectResponseHeaders(wrappedResponse) : null;
+
+        // Debug lengths (best-effort)
+        try {
+            int reqLen = cachedBody != null ? cachedBody.length() : 0;
+            long respLen = wrappedResponse.getBodyLength();
+            log.debug("IOLogger: traceId={} resource={} reqLen={} respLen={}", traceId, resource, reqLen, respLen);
+        } catch (Exception e) {
+            log.debug("IOLogger: unable to compute body lengths", e);
+        }
+
+        // Log inbound and outbound using helper methods (best-effort)
+        logInbound(cachedBody, wrappedRequest.isBodyTruncated(), wrappedRequest, traceId, resource, startTs, tier);
+        logOutbound(wrappedResponse, traceId, resource, responseHeaders, status, tier);
+    }
+
+    // Helper: resolve the request body from attribute, the tee capture, or submitted form parameters
+    private String resolveRequestBody(BodyCapturingHttpServletRequest wrappedRequest) {
         try {
             Object attr = wrappedRequest.getAttribute(IOLoggerConstant.REQUEST_BODY);
             if (attr instanceof String s && !s.isEmpty()) return s;
 
-            if (cachedRequest != null) {
-                byte[] b = cachedRequest.getCachedBody();
-                if (b.length > 0) {
-                    String enc = wrappedRequest.getCharacterEncoding() != null ? wrappedRequest.getCharacterEncoding() : StandardCharsets.UTF_8.name();
-                    String body = new String(b, enc);
-                    wrappedRequest.setAttribute(IOLoggerConstant.REQUEST_BODY, body);
-                    return body;
-                }
+            wrappedRequest.completeCapture();
+            String body = wrappedRequest.getCapturedBody();
+            if (body == null) {
+                body = rebuildFormBody(wrappedRequest);
             }
-
-            byte[] content = wrappedRequest.getContentAsByteArray();
-            if (content.length > 0) {
-                String encoding = wrappedRequest.getCharacterEncoding() != null ? wrappedRequest.getCharacterEncoding() : StandardCharsets.UTF_8.name();
-                String body = new String(content, encoding);
+            if (body != null && !body.isEmpty()) {
                 wrappedRequest.setAttribute(IOLoggerConstant.REQUEST_BODY, body);
                 return body;
             }
@@ -131,45 +241,144 @@ public class RequestWrappingFilter extends OncePerRequestFilter {
         return null;
     }
 
-    // Helper: build or reuse a trace id and store it on the request
-    private String resolveTraceId(ContentCachingRequestWrapper wrappedRequest) {
-        String traceId = Optional.ofNullable(wrappedRequest.getHeader(IOLoggerConstant.TRACE_ID))
-                .filter(s -> !s.isEmpty())
-                .orElse(null);
-        if (traceId == null) {
-            Object attrObj = wrappedRequest.getAttribute(IOLoggerConstant.TRACE_ID);
-            if (attrObj != null) traceId = attrObj.toString();
+    // Form posts are usually parsed by the container itself, bypassing the tee stream
+    private String rebuildFormBody(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE)) {
+            return null;
+        }
+        Charset charset = IOLoggerUtil.resolveCharset(request.getCharacterEncoding());
+        StringBuilder form = new StringBuilder();
+        request.getParameterMap().forEach((name, values) -> {
+            for (String value : values) {
+                if (!form.isEmpty()) form.append('&');
+                form.append(URLEncoder.encode(name, charset)).append('=').append(URLEncoder.encode(value, charset));
+            }
+        });
+        return form.isEmpty() ? null : form.toString();
+    }
+
+    // Helper: build or reuse a trace id and store it on the request, together with this server's span
+    // as a TraceParent; a traceId header wins over an incoming W3C traceparent
+    private String resolveTraceId(HttpServletRequest wrappedRequest) {
+        Object attrObj = wrappedRequest.getAttribute(IOLoggerConstant.TRACE_ID);
+        if (attrObj != null) return attrObj.toString();
+
+        String traceId = wrappedRequest.getHeader(IOLoggerConstant.TRACE_ID);
+        // a client-supplied id that is not hex or too wide for trace_id would fail the whole insert batch
+        if (!TraceIdGenerator.isValid(traceId)) traceId = null;
+        TraceParent incoming = TraceParent.parse(wrappedRequest.getHeader(TraceParent.HEADER));
+        if (traceId == null && incoming != null) {
+            traceId = incoming.traceId();
         }
         if (traceId == null) traceId = IOLoggerUtil.generateTraceId();
+
+        TraceParent span = incoming != null && incoming.traceId().equals(traceId)
+                ? incoming.child()
+                : TraceParent.forTraceId(traceId, TraceParent.FLAG_SAMPLED);
+        if (span != null) {
+            wrappedRequest.setAttribute(TraceParent.HEADER, span);
+        }
         wrappedRequest.setAttribute(IOLoggerConstant.TRACE_ID, traceId);
         return traceId;
     }
 
+    // Helper: URI template of the matched handler (e.g. /accounts/{id}), never the concrete URL
+    private static String resolveRoute(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : IOLoggerMetrics.UNKNOWN_ROUTE;
+    }
+
     // Helper: collect response headers into a simple map
-    private Map<String, String> collectResponseHeaders(ContentCachingResponseWrapper wrappedResponse) {
+    private Map<String, String> collectResponseHeaders(HttpServletResponse wrappedResponse) {
         return wrappedResponse.getHeaderNames().stream()
                 .collect(Collectors.toMap(h -> h, h -> Optional.ofNullable(wrappedResponse.getHeader(h)).orElse("")));
     }
 
     // Extracted logging helpers for better readability
-    private void logInbound(String cachedBody, ContentCachingRequestWrapper wrappedRequest, String traceId, String resource, Instant startTs) {
+    private void logInbound(String cachedBody, boolean truncated, HttpServletRequest wrappedRequest, String traceId,
+                            String resource, Instant startTs, LogTier tier) {
         try {
-            if (cachedBody != null) {
-                ioLoggerService.logHttpInboundWithPayload(cachedBody, wrappedRequest, traceId, sourceApplication, resource, startTs);
-            } else {
-                ioLoggerService.logHttpInboundRequest(wrappedRequest, traceId, sourceApplication, resource);
-            }
+            ioLoggerService.logHttpInboundWithPayload(cachedBody, truncated, wrappedRequest, traceId, sourceApplication,
+                    resource, startTs, tier);
         } catch (Exception e) {
             log.debug("IOLogger: inbound logging failed for traceId={}", traceId, e);
         }
     }
 
-    private void logOutbound(ContentCachingResponseWrapper wrappedResponse, String traceId, String resource, Map<String, String> responseHeaders) {
+    private void logOutbound(BodyCapturingHttpServletResponse wrappedResponse, String traceId, String resource,
+                             Map<String, String> responseHeaders, int status, LogTier tier) {
         try {
-            ioLoggerService.logHttpOutboundResponse(wrappedResponse, traceId, sourceApplication, resource,
-                    wrappedResponse.getStatus(), responseHeaders);
+            ioLoggerService.logHttpOutboundResponse(wrappedResponse.getCapturedBody(), wrappedResponse.isBodyTruncated(),
+                    traceId, sourceApplication, resource, status, responseHeaders, tier);
         } catch (Exception e) {
             log.debug("IOLogger: outbound logging failed for traceId={}", traceId, e);
         }
     }
+
+    /**
+     * Finishes capture for a request that went async. Completion always fires, also after a timeout or an
+     * error, so the exchange is logged exactly once with the latency up to the completed response.
+     */
+    private final class AsyncCaptureListener implements AsyncListener {
+
+        private final BodyCapturingHttpServletRequest wrappedRequest;
+        private final BodyCapturingHttpServletResponse wrappedResponse;
+        private final Instant startTs;
+        private final String traceId;
+        private final boolean ownsRequestCapture;
+        private final boolean ownsResponseCapture;
+        private volatile boolean timedOut;
+        private volatile boolean failed;
+
+        private AsyncCaptureListener(BodyCapturingHttpServletRequest wrappedRequest,
+                                     BodyCapturingHttpServletResponse wrappedResponse, Instant startTs, String traceId,
+                                     boolean ownsRequestCapture, boolean ownsResponseCapture) {
+            this.wrappedRequest = wrappedRequest;
+            this.wrappedResponse = wrappedResponse;
+            this.startTs = startTs;
+            this.traceId = traceId;
+            this.ownsRequestCapture = ownsRequestCapture;
+            this.ownsResponseCapture = ownsResponseCapture;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            Integer statusOverride = null;
+            if (failed && wrappedResponse.getStatus() < 400) {
+                statusOverride = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+            } else if (timedOut && wrappedResponse.getStatus() < 400) {
+                statusOverride = HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+            }
+
+            // completion runs on a container thread, so the trace and request context are set up again
+            MDC.put(IOLoggerConstant.TRACE_ID, traceId);
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(wrappedRequest, wrappedResponse));
+            try {
+                finishCapture(wrappedRequest, wrappedResponse, startTs, statusOverride, ownsRequestCapture,
+                        ownsResponseCapture);
+            } catch (Exception e) {
+                log.debug("IOLogger: async capture failed for traceId={}", traceId, e);
+            } finally {
+                MDC.remove(IOLoggerConstant.TRACE_ID);
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            timedOut = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // listeners are dropped when the request goes async again, e.g. after an async dispatch
+            event.getAsyncContext().addListener(this);
+        }
+    }
 }
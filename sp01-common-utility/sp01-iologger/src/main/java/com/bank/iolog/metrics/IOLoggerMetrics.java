@@ -0,0 +1,140 @@
+package com.bank.iolog.metrics;
+
+import com.bank.iolog.entity.IOLogEntry;
+import com.bank.iolog.enums.ChannelType;
+import com.bank.iolog.enums.IOType;
+import com.bank.iolog.writer.AsyncIOLogWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters describing what IO logging itself costs. Every meter carries the {@code application} tag;
+ * the others are bounded by construction: channel and io type are enums and {@code route} is the URI
+ * template (never the concrete URL) or the queue / routing key.
+ * <ul>
+ *     <li>{@code iolog.capture} time spent on the request or listener thread to capture an exchange</li>
+ *     <li>{@code iolog.serialization} time spent serializing header maps and response objects</li>
+ *     <li>{@code iolog.persistence} sink latency per batch</li>
+ *     <li>{@code iolog.entries.written}, {@code iolog.entries.failed}, {@code iolog.entries.dropped}</li>
+ *     <li>{@code iolog.entries.metadata.dropped} entries lost in METADATA_ONLY overflow even after stripping</li>
+ *     <li>{@code iolog.payload.size} payload characters per entry</li>
+ *     <li>{@code iolog.writer.queue.depth} entries waiting in the async writer</li>
+ * </ul>
+ * Meters with fixed tags are created up front, so recording never looks anything up by name.
+ */
+public class IOLoggerMetrics {
+
+    public static final String UNKNOWN_ROUTE = "UNKNOWN";
+
+    private final MeterRegistry registry;
+    private final Tags applicationTags;
+    private final Meter.MeterProvider<Timer> captureTimers;
+    private final Timer serializationTimer;
+    private final Timer persistenceTimer;
+    private final Counter failedEntries;
+    private final Counter[][] writtenEntries;
+    private final DistributionSummary[][] payloadSizes;
+
+    public IOLoggerMetrics(MeterRegistry registry, String application) {
+        this.registry = registry;
+        this.applicationTags = Tags.of("application", application);
+        this.captureTimers = Timer.builder("iolog.capture")
+                .description("Time spent capturing an exchange on the calling thread")
+                .tags(applicationTags)
+                .publishPercentileHistogram()
+                .withRegistry(registry);
+        this.serializationTimer = Timer.builder("iolog.serialization")
+                .description("Time spent serializing headers and response objects")
+                .tags(applicationTags)
+                .publishPercentileHistogram()
+                .register(registry);
+        this.persistenceTimer = Timer.builder("iolog.persistence")
+                .description("Sink latency per batch of entries")
+                .tags(applicationTags)
+                .publishPercentileHistogram()
+                .register(registry);
+        this.failedEntries = Counter.builder("iolog.entries.failed")
+                .description("Entries the sink rejected")
+                .tags(applicationTags)
+                .register(registry);
+
+        ChannelType[] channels = ChannelType.values();
+        IOType[] ioTypes = IOType.values();
+        this.writtenEntries = new Counter[channels.length][ioTypes.length];
+        this.payloadSizes = new DistributionSummary[channels.length][ioTypes.length];
+        for (ChannelType channel : channels) {
+            for (IOType ioType : ioTypes) {
+                Tags tags = applicationTags.and("channel", channel.name(), "io_type", ioType.name());
+                writtenEntries[channel.ordinal()][ioType.ordinal()] = Counter.builder("iolog.entries.written")
+                        .description("Entries handed to the sink")
+                        .tags(tags)
+                        .register(registry);
+                payloadSizes[channel.ordinal()][ioType.ordinal()] = DistributionSummary.builder("iolog.payload.size")
+                        .description("Payload characters per logged entry")
+                        .baseUnit("characters")
+                        .tags(tags)
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+        }
+    }
+
+    /**
+     * Metrics that record nothing, for when no {@link MeterRegistry} is available.
+     */
+    public static IOLoggerMetrics noop() {
+        return new IOLoggerMetrics(new CompositeMeterRegistry(), "unknown-service");
+    }
+
+    public void recordCapture(ChannelType channel, String route, long nanos) {
+        captureTimers.withTags("channel", channel.name(), "route", route != null ? route : UNKNOWN_ROUTE)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSerialization(long nanos) {
+        serializationTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPersistence(long nanos) {
+        persistenceTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPayload(IOLogEntry entry) {
+        if (entry.getPayload() == null || entry.getCommunicationChannel() == null || entry.getIoType() == null) return;
+        payloadSizes[entry.getCommunicationChannel().ordinal()][entry.getIoType().ordinal()]
+                .record(entry.getPayload().length());
+    }
+
+    public void recordWritten(IOLogEntry entry) {
+        if (entry.getCommunicationChannel() == null || entry.getIoType() == null) return;
+        writtenEntries[entry.getCommunicationChannel().ordinal()][entry.getIoType().ordinal()].increment();
+    }
+
+    public void recordFailed(int entries) {
+        failedEntries.increment(entries);
+    }
+
+    public void bindWriter(AsyncIOLogWriter writer) {
+        Gauge.builder("iolog.writer.queue.depth", writer, AsyncIOLogWriter::getQueueDepth)
+                .description("Entries waiting in the async writer queue")
+                .tags(applicationTags)
+                .register(registry);
+        FunctionCounter.builder("iolog.entries.dropped", writer, AsyncIOLogWriter::getDroppedEntries)
+                .description("Entries the async writer dropped on overflow or failed to persist")
+                .tags(applicationTags)
+                .register(registry);
+        FunctionCounter.builder("iolog.entries.metadata.dropped", writer, AsyncIOLogWriter::getMetadataOnlyDroppedEntries)
+                .description("Entries dropped with a full queue even after header and payload were stripped")
+                .tags(applicationTags)
+                .register(registry);
+    }
+}
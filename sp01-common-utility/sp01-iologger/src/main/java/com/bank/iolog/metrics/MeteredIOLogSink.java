@@ -0,0 +1,38 @@
+package com.bank.iolog.metrics;
+
+import com.bank.iolog.entity.IOLogEntry;
+import com.bank.iolog.sink.IOLogSink;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outermost sink: times each batch and counts entries by channel and io type before the delegate
+ * compresses or spools them.
+ */
+@RequiredArgsConstructor
+public class MeteredIOLogSink implements IOLogSink {
+
+    private final IOLogSink delegate;
+    private final IOLoggerMetrics metrics;
+
+    @Override
+    public void write(List<IOLogEntry> entries) {
+        // sizes first, the compressing sink moves payloads out of the text column
+        for (IOLogEntry entry : entries) {
+            metrics.recordPayload(entry);
+        }
+        long start = System.nanoTime();
+        try {
+            delegate.write(entries);
+        } catch (RuntimeException e) {
+            metrics.recordFailed(entries.size());
+            throw e;
+        } finally {
+            metrics.recordPersistence(System.nanoTime() - start);
+        }
+        for (IOLogEntry entry : entries) {
+            metrics.recordWritten(entry);
+        }
+    }
+}
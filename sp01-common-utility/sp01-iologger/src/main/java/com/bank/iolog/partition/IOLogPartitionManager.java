@@ -0,0 +1,197 @@
+package com.bank.iolog.partition;
+
+import com.bank.iolog.enums.PartitionGranularity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Objects;
+import java.util.TimeZone;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps {@code io_log_entries} range-partitioned on {@code timestamp} (UTC) in MySQL.
+ * <p>
+ * On first start the table is converted: the primary key becomes {@code (id, timestamp)} because
+ * MySQL requires the partition column in every unique key, existing rows land in one partition
+ * bounded by the current period, and a {@code p_future} catch-all partition is added. After that a
+ * maintenance task splits {@code p_future} to keep {@code precreate} future periods ready and drops
+ * partitions that fall entirely outside the retention window, which is a metadata-only operation
+ * regardless of table size.
+ * <p>
+ * With {@code blobCleanup} the same run deletes {@code io_log_blobs} rows that no entry refers to and
+ * whose {@code created_at} is older than the retention window, in batches of {@value #BLOB_DELETE_BATCH}.
+ * The age check keeps blobs a writer has just stored (or still has cached) for entries not inserted yet.
+ */
+@Slf4j
+public class IOLogPartitionManager implements AutoCloseable {
+
+    private static final String TABLE = "io_log_entries";
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHH");
+    private static final int BLOB_DELETE_BATCH = 1000;
+    private static final String DELETE_UNREFERENCED_BLOBS = "DELETE FROM io_log_blobs WHERE created_at < ? "
+            + "AND NOT EXISTS (SELECT 1 FROM " + TABLE + " e WHERE e.header_hash = io_log_blobs.hash) "
+            + "AND NOT EXISTS (SELECT 1 FROM " + TABLE + " e WHERE e.payload_hash = io_log_blobs.hash) "
+            + "LIMIT " + BLOB_DELETE_BATCH;
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitionGranularity granularity;
+    private final int precreate;
+    private final Duration retention;
+    private final Duration maintenanceInterval;
+    private final boolean blobCleanup;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+
+    public IOLogPartitionManager(JdbcTemplate jdbcTemplate, PartitionGranularity granularity, int precreate,
+                                 Duration retention, Duration maintenanceInterval, boolean blobCleanup) {
+        this(jdbcTemplate, granularity, precreate, retention, maintenanceInterval, blobCleanup, Clock.systemUTC());
+    }
+
+    IOLogPartitionManager(JdbcTemplate jdbcTemplate, PartitionGranularity granularity, int precreate,
+                          Duration retention, Duration maintenanceInterval, boolean blobCleanup, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.granularity = granularity;
+        this.precreate = Math.max(1, precreate);
+        this.retention = retention;
+        this.maintenanceInterval = maintenanceInterval;
+        this.blobCleanup = blobCleanup;
+        this.clock = clock;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "iolog-partition-maintenance");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void start() {
+        runSafely();
+        long intervalMillis = maintenanceInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::runSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void runSafely() {
+        try {
+            ensurePartitioned();
+            precreatePartitions();
+            dropExpiredPartitions();
+            if (blobCleanup) {
+                deleteUnreferencedBlobs();
+            }
+        } catch (Exception e) {
+            log.warn("IOLogger: partition maintenance of {} failed", TABLE, e);
+        }
+    }
+
+    void ensurePartitioned() {
+        if (!listPartitions().isEmpty()) return;
+
+        LocalDateTime currentPeriod = periodStart(LocalDateTime.now(clock));
+        log.info("IOLogger: converting {} to {} range partitions, this rebuilds the table once", TABLE, granularity);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, timestamp)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " PARTITION BY RANGE COLUMNS(timestamp) ("
+                + partitionDefinition(currentPeriod) + ", "
+                + "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+    }
+
+    void precreatePartitions() {
+        LocalDateTime highest = listPartitions().stream()
+                .map(Partition::upperBound)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        if (highest == null) return;
+
+        LocalDateTime target = next(periodStart(LocalDateTime.now(clock)), precreate);
+        List<String> definitions = new ArrayList<>();
+        for (LocalDateTime bound = next(highest, 1); !bound.isAfter(target); bound = next(bound, 1)) {
+            definitions.add(partitionDefinition(bound));
+        }
+        if (definitions.isEmpty()) return;
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO ("
+                + String.join(", ", definitions) + ", "
+                + "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+        log.info("IOLogger: pre-created {} partitions of {}", definitions.size(), TABLE);
+    }
+
+    void dropExpiredPartitions() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(retention);
+        List<String> expired = listPartitions().stream()
+                .filter(p -> p.upperBound() != null && !p.upperBound().isAfter(cutoff))
+                .map(Partition::name)
+                .toList();
+        if (expired.isEmpty()) return;
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + String.join(", ", expired));
+        log.info("IOLogger: dropped expired partitions {} of {}", expired, TABLE);
+    }
+
+    void deleteUnreferencedBlobs() {
+        Timestamp cutoff = Timestamp.from(LocalDateTime.now(clock).minus(retention).toInstant(ZoneOffset.UTC));
+        Calendar utc = Calendar.getInstance(UTC);
+        long deleted = 0;
+        int batch;
+        // small batches keep each statement's locks short next to the writers
+        do {
+            batch = jdbcTemplate.update(DELETE_UNREFERENCED_BLOBS, ps -> ps.setTimestamp(1, cutoff, utc));
+            deleted += batch;
+        } while (batch == BLOB_DELETE_BATCH && !Thread.currentThread().isInterrupted());
+        if (deleted > 0) {
+            log.info("IOLogger: deleted {} unreferenced blobs from io_log_blobs", deleted);
+        }
+    }
+
+    private List<Partition> listPartitions() {
+        return jdbcTemplate.query(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL",
+                (rs, i) -> new Partition(rs.getString(1), parseBound(rs.getString(2))),
+                TABLE);
+    }
+
+    private String partitionDefinition(LocalDateTime upperBound) {
+        return "PARTITION p" + NAME_FORMAT.format(upperBound)
+                + " VALUES LESS THAN ('" + BOUND_FORMAT.format(upperBound) + "')";
+    }
+
+    private LocalDateTime periodStart(LocalDateTime time) {
+        return granularity == PartitionGranularity.HOURLY
+                ? time.truncatedTo(ChronoUnit.HOURS)
+                : time.truncatedTo(ChronoUnit.DAYS);
+    }
+
+    private LocalDateTime next(LocalDateTime bound, int periods) {
+        return granularity == PartitionGranularity.HOURLY ? bound.plusHours(periods) : bound.plusDays(periods);
+    }
+
+    // PARTITION_DESCRIPTION looks like '2026-10-18 00:00:00' for RANGE COLUMNS, MAXVALUE for the catch-all
+    private static LocalDateTime parseBound(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) return null;
+        String value = description.replace("'", "").trim();
+        if (value.length() > 19) value = value.substring(0, 19);
+        return LocalDateTime.parse(value, BOUND_FORMAT);
+    }
+
+    private record Partition(String name, LocalDateTime upperBound) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.bank.iolog.policy;
+
+import com.bank.iolog.config.IOLoggerProperties;
+import com.bank.iolog.enums.LogTier;
+import com.bank.iolog.util.RouteMatcher;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides how much of an exchange gets persisted. Rules are compiled once at startup, so a
+ * decision is a hash or prefix lookup plus at most one random draw. Callers ask only after the
+ * exchange has completed, so failed and slow calls can always be kept regardless of sampling.
+ */
+public class IOLogPolicy {
+
+    private final CompiledRule defaultRule;
+    private final RouteMatcher<CompiledRule> routes;
+    private final Map<String, CompiledRule> queues;
+
+    private IOLogPolicy(CompiledRule defaultRule, RouteMatcher<CompiledRule> routes, Map<String, CompiledRule> queues) {
+        this.defaultRule = defaultRule;
+        this.routes = routes;
+        this.queues = queues;
+    }
+
+    public static IOLogPolicy from(IOLoggerProperties.Policy policy) {
+        CompiledRule defaultRule = CompiledRule.of(policy.getDefaults());
+
+        Map<String, CompiledRule> routeRules = new LinkedHashMap<>();
+        policy.getRoutes().forEach((pattern, rule) -> routeRules.put(pattern, CompiledRule.of(rule)));
+
+        Map<String, CompiledRule> queueRules = new HashMap<>();
+        policy.getQueues().forEach((queue, rule) -> queueRules.put(queue, CompiledRule.of(rule)));
+
+        return new IOLogPolicy(defaultRule, RouteMatcher.compile(routeRules), Map.copyOf(queueRules));
+    }
+
+    public static IOLogPolicy logEverything() {
+        return from(new IOLoggerProperties.Policy());
+    }
+
+    public LogTier decideHttp(String path, int status, long latencyMillis) {
+        return routes.match(path, defaultRule).decide(status >= 400, latencyMillis);
+    }
+
+    public LogTier decideRabbit(String destination, boolean failed, long latencyMillis) {
+        CompiledRule rule = destination != null ? queues.getOrDefault(destination, defaultRule) : defaultRule;
+        return rule.decide(failed, latencyMillis);
+    }
+
+    public boolean hasQueueRule(String queue) {
+        return queue != null && queues.containsKey(queue);
+    }
+
+    private record CompiledRule(double sampleRate, LogTier tier, LogTier unsampledTier,
+                                boolean keepErrors, long slowThresholdMillis) {
+
+        static CompiledRule of(IOLoggerProperties.PolicyRule rule) {
+            return new CompiledRule(Math.max(0d, Math.min(1d, rule.getSampleRate())), rule.getTier(),
+                    rule.getUnsampledTier(), rule.isKeepErrors(), rule.getSlowThresholdMs());
+        }
+
+        LogTier decide(boolean error, long latencyMillis) {
+            if ((error && keepErrors) || (slowThresholdMillis >= 0 && latencyMillis >= slowThresholdMillis)) {
+                return LogTier.FULL;
+            }
+            if (tier == LogTier.NONE || sampleRate <= 0d) {
+                return tier == LogTier.NONE ? LogTier.NONE : unsampledTier;
+            }
+            if (sampleRate >= 1d || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                return tier;
+            }
+            return unsampledTier;
+        }
+    }
+}
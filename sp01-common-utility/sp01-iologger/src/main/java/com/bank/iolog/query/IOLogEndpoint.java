@@ -0,0 +1,48 @@
+package com.bank.iolog.query;
+
+import com.bank.iolog.enums.ChannelType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/iolog} for on-call lookups:
+ * <ul>
+ *     <li>{@code GET /actuator/iolog?sourceApplication=&resource=&channel=&status=&cursor=&size=} search, newest first</li>
+ *     <li>{@code GET /actuator/iolog/{traceId}} ordered timeline of a trace, without bodies</li>
+ *     <li>{@code GET /actuator/iolog/{traceId}/{id}?pretty=} header and payload of one entry, pretty-printed by default</li>
+ * </ul>
+ * Only registered when actuator is on the classpath; exposure follows {@code management.endpoints.web.exposure}.
+ */
+@Endpoint(id = "iolog")
+@RequiredArgsConstructor
+public class IOLogEndpoint {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
+    private final IOLogQueryService queryService;
+
+    @ReadOperation
+    public IOLogPage search(@Nullable String sourceApplication, @Nullable String resource,
+                            @Nullable ChannelType channel, @Nullable Integer status,
+                            @Nullable String cursor, @Nullable Integer size) {
+        return queryService.search(new IOLogSearchCriteria(sourceApplication, resource, channel, status),
+                cursor, size != null ? size : DEFAULT_PAGE_SIZE);
+    }
+
+    @ReadOperation
+    public List<IOLogEntrySummary> timeline(@Selector String traceId) {
+        return queryService.findTimeline(traceId);
+    }
+
+    @ReadOperation
+    public IOLogEntryContent content(@Selector String traceId, @Selector Long id, @Nullable Boolean pretty) {
+        return queryService.findContent(traceId, id)
+                .map(content -> Boolean.FALSE.equals(pretty) ? content : content.pretty())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,50 @@
+package com.bank.iolog.query;
+
+import com.bank.iolog.codec.PayloadCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Header and payload of a single entry, selected with either their text or compressed columns, or from
+ * the referenced {@code io_log_blobs} rows. Bodies are stored as received; {@link #pretty()} formats
+ * JSON for display.
+ */
+public record IOLogEntryContent(Long id, String header, String payload) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public IOLogEntryContent(Long id, String header, byte[] headerData, String payload, byte[] payloadData) {
+        this(id,
+                header != null ? header : PayloadCodec.decode(headerData),
+                payload != null ? payload : PayloadCodec.decode(payloadData));
+    }
+
+    public IOLogEntryContent(Long id, String header, byte[] headerData, String headerBlob, byte[] headerBlobData,
+                             String payload, byte[] payloadData, String payloadBlob, byte[] payloadBlobData) {
+        this(id,
+                firstNonNull(header, headerData, headerBlob, headerBlobData),
+                firstNonNull(payload, payloadData, payloadBlob, payloadBlobData));
+    }
+
+    public IOLogEntryContent pretty() {
+        return new IOLogEntryContent(id, prettyPrint(header), prettyPrint(payload));
+    }
+
+    private static String firstNonNull(String text, byte[] data, String blob, byte[] blobData) {
+        if (text != null) return text;
+        if (data != null) return PayloadCodec.decode(data);
+        if (blob != null) return blob;
+        return PayloadCodec.decode(blobData);
+    }
+
+    // truncated or non-JSON bodies are returned unchanged
+    private static String prettyPrint(String value) {
+        if (value == null || value.isBlank()) return value;
+        try {
+            JsonNode json = MAPPER.readTree(value);
+            return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(json);
+        } catch (Exception e) {
+            return value;
+        }
+    }
+}
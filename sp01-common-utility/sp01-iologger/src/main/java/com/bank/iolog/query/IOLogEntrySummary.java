@@ -0,0 +1,21 @@
+package com.bank.iolog.query;
+
+import com.bank.iolog.enums.ChannelType;
+import com.bank.iolog.enums.IOType;
+
+import java.time.Instant;
+
+/**
+ * Row of a trace timeline or search result. Deliberately excludes the header/payload LOB columns,
+ * fetch those per entry with {@link IOLogQueryService#findContent(String, Long)}.
+ */
+public record IOLogEntrySummary(Long id,
+                                String traceId,
+                                String sourceApplication,
+                                String resource,
+                                IOType ioType,
+                                ChannelType communicationChannel,
+                                Integer httpStatus,
+                                Boolean payloadTruncated,
+                                Instant timestamp) {
+}
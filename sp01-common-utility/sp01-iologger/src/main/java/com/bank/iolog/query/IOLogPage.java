@@ -0,0 +1,9 @@
+package com.bank.iolog.query;
+
+import java.util.List;
+
+/**
+ * One page of search results, newest first. {@code nextCursor} is {@code null} on the last page.
+ */
+public record IOLogPage(List<IOLogEntrySummary> entries, String nextCursor) {
+}
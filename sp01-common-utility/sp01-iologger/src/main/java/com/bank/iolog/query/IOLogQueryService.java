@@ -0,0 +1,105 @@
+package com.bank.iolog.query;
+
+import com.bank.iolog.entity.IOLogEntry;
+import com.bank.iolog.repository.IOLogEntryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read side of the IO log. Timelines and searches only select the scalar columns; header and payload
+ * are loaded one entry at a time. Searches page by keyset on {@code (timestamp, id)}, so page N costs
+ * the same as page 1 instead of scanning and discarding an OFFSET.
+ */
+@RequiredArgsConstructor
+public class IOLogQueryService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final IOLogEntryRepository repository;
+    private final EntityManager entityManager;
+
+    public List<IOLogEntrySummary> findTimeline(String traceId) {
+        return repository.findTimeline(traceId);
+    }
+
+    public Optional<IOLogEntryContent> findContent(String traceId, Long id) {
+        return repository.findContent(traceId, id);
+    }
+
+    public IOLogPage search(IOLogSearchCriteria criteria, String cursor, int pageSize) {
+        int limit = Math.clamp(pageSize, 1, MAX_PAGE_SIZE);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IOLogEntrySummary> query = cb.createQuery(IOLogEntrySummary.class);
+        Root<IOLogEntry> e = query.from(IOLogEntry.class);
+        Path<Instant> timestamp = e.get("timestamp");
+        Path<Long> id = e.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.sourceApplication() != null) {
+            predicates.add(cb.equal(e.get("sourceApplication"), criteria.sourceApplication()));
+        }
+        if (criteria.resource() != null) {
+            predicates.add(cb.equal(e.get("resource"), criteria.resource()));
+        }
+        if (criteria.channel() != null) {
+            predicates.add(cb.equal(e.get("communicationChannel"), criteria.channel()));
+        }
+        if (criteria.httpStatus() != null) {
+            predicates.add(cb.equal(e.get("httpStatus"), criteria.httpStatus()));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor after = Cursor.decode(cursor);
+            predicates.add(cb.or(
+                    cb.lessThan(timestamp, after.timestamp()),
+                    cb.and(cb.equal(timestamp, after.timestamp()), cb.lessThan(id, after.id()))));
+        }
+
+        query.select(cb.construct(IOLogEntrySummary.class,
+                        id, e.get("traceId"), e.get("sourceApplication"), e.get("resource"), e.get("ioType"),
+                        e.get("communicationChannel"), e.get("httpStatus"), e.get("payloadTruncated"), timestamp))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(timestamp), cb.desc(id));
+
+        // one extra row tells whether another page exists without a COUNT
+        List<IOLogEntrySummary> rows = entityManager.createQuery(query)
+                .setMaxResults(limit + 1)
+                .getResultList();
+        if (rows.size() <= limit) {
+            return new IOLogPage(rows, null);
+        }
+        List<IOLogEntrySummary> page = rows.subList(0, limit);
+        IOLogEntrySummary last = page.get(limit - 1);
+        return new IOLogPage(List.copyOf(page), new Cursor(last.timestamp(), last.id()).encode());
+    }
+
+    private record Cursor(Instant timestamp, Long id) {
+
+        String encode() {
+            String raw = timestamp + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(Instant.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException("IOLogger: invalid search cursor", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.bank.iolog.query;
+
+import com.bank.iolog.enums.ChannelType;
+
+/**
+ * Filters for {@link IOLogQueryService#search}; {@code null} fields are not applied.
+ */
+public record IOLogSearchCriteria(String sourceApplication,
+                                  String resource,
+                                  ChannelType channel,
+                                  Integer httpStatus) {
+}
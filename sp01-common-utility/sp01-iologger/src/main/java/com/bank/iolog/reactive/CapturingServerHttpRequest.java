@@ -0,0 +1,65 @@
+package com.bank.iolog.reactive;
+
+import com.bank.iolog.capture.CaptureBuffer;
+import com.bank.iolog.capture.CaptureBufferPool;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Request whose body is mirrored into a capped {@link CaptureBuffer} as the application consumes it.
+ * Buffers are only read, never retained or released here, so the body flows through unchanged and
+ * nothing blocks. A body the application never subscribes to is not captured. Once the exchange is
+ * finished {@link #closeCapture()} stops the mirroring, so chunks still arriving after a cancel are not
+ * copied into a buffer that is being logged or has gone back to its pool.
+ */
+public class CapturingServerHttpRequest extends ServerHttpRequestDecorator {
+
+    private final CaptureBuffer capture;
+
+    public CapturingServerHttpRequest(ServerHttpRequest delegate, int maxBodyBytes, CaptureBufferPool pool) {
+        super(delegate);
+        this.capture = new CaptureBuffer(maxBodyBytes, pool);
+    }
+
+    @Override
+    public Flux<DataBuffer> getBody() {
+        return super.getBody().doOnNext(buffer -> copy(buffer, capture));
+    }
+
+    public String getCapturedBody() {
+        return capture.toString(charsetOf(getHeaders().getContentType()));
+    }
+
+    public boolean isBodyTruncated() {
+        return capture.isTruncated();
+    }
+
+    // waits for a copy in progress on the event loop; every later chunk passes through uncaptured
+    public void closeCapture() {
+        capture.close();
+    }
+
+    public void releaseCapture() {
+        capture.release();
+    }
+
+    static void copy(DataBuffer buffer, CaptureBuffer capture) {
+        if (capture.isClosed()) return;
+        try (DataBuffer.ByteBufferIterator buffers = buffer.readableByteBuffers()) {
+            while (buffers.hasNext()) {
+                capture.write(buffers.next());
+            }
+        }
+    }
+
+    static Charset charsetOf(MediaType contentType) {
+        Charset charset = contentType != null ? contentType.getCharset() : null;
+        return charset != null ? charset : StandardCharsets.UTF_8;
+    }
+}
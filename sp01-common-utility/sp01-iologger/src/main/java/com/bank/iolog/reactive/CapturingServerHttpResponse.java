@@ -0,0 +1,55 @@
+package com.bank.iolog.reactive;
+
+import com.bank.iolog.capture.CaptureBuffer;
+import com.bank.iolog.capture.CaptureBufferPool;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Response whose body is mirrored into a capped {@link CaptureBuffer} on its way to the client,
+ * including bodies written in chunks through {@link #writeAndFlushWith}.
+ */
+public class CapturingServerHttpResponse extends ServerHttpResponseDecorator {
+
+    private final CaptureBuffer capture;
+
+    public CapturingServerHttpResponse(ServerHttpResponse delegate, int maxBodyBytes, CaptureBufferPool pool) {
+        super(delegate);
+        this.capture = new CaptureBuffer(maxBodyBytes, pool);
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        // a Mono body stays a Mono, the response sets Content-Length for those
+        if (body instanceof Mono<? extends DataBuffer> single) {
+            return super.writeWith(single.doOnNext(buffer -> CapturingServerHttpRequest.copy(buffer, capture)));
+        }
+        return super.writeWith(Flux.from(body).doOnNext(buffer -> CapturingServerHttpRequest.copy(buffer, capture)));
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return super.writeAndFlushWith(Flux.from(body)
+                .map(chunk -> Flux.from(chunk).doOnNext(buffer -> CapturingServerHttpRequest.copy(buffer, capture))));
+    }
+
+    public String getCapturedBody() {
+        return capture.toString(CapturingServerHttpRequest.charsetOf(getHeaders().getContentType()));
+    }
+
+    public boolean isBodyTruncated() {
+        return capture.isTruncated();
+    }
+
+    public void closeCapture() {
+        capture.close();
+    }
+
+    public void releaseCapture() {
+        capture.release();
+    }
+}
@@ -0,0 +1,195 @@
+package com.bank.iolog.reactive;
+
+import com.bank.core.path.PublicPathMatcher;
+import com.bank.core.trace.TraceIdGenerator;
+import com.bank.core.trace.TraceParent;
+import com.bank.iolog.capture.CaptureBufferPool;
+import com.bank.iolog.enums.ChannelType;
+import com.bank.iolog.enums.LogTier;
+import com.bank.iolog.metrics.IOLoggerMetrics;
+import com.bank.iolog.policy.IOLogPolicy;
+import com.bank.iolog.service.IOLoggerService;
+import com.bank.iolog.util.IOLoggerConstant;
+import com.bank.iolog.util.IOLoggerUtil;
+import com.bank.iolog.util.RouteMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * WebFlux counterpart of {@code RequestWrappingFilter}. Bodies are mirrored from the {@code DataBuffer}
+ * streams as they pass, the trace id travels in the Reactor {@link Context} under
+ * {@link IOLoggerConstant#TRACE_ID} instead of the MDC, and the exchange is logged once the chain
+ * completes. Logging runs on {@code logScheduler}, so a blocking writer never holds an event loop thread.
+ */
+public class ReactiveRequestLoggingFilter implements WebFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveRequestLoggingFilter.class);
+    // W3C Trace Context level 2 response header, same format as traceparent
+    private static final String TRACE_RESPONSE_HEADER = "traceresponse";
+
+    private final IOLoggerService ioLoggerService;
+    private final IOLogPolicy policy;
+    private final String sourceApplication;
+    private final RouteMatcher<Integer> requestBodyLimits;
+    private final int defaultRequestBodyLimit;
+    private final RouteMatcher<Integer> responseBodyLimits;
+    private final int defaultResponseBodyLimit;
+    private final IOLoggerMetrics metrics;
+    private final CaptureBufferPool bufferPool;
+    private final PublicPathMatcher excludedPaths;
+    private final Scheduler logScheduler;
+
+    public ReactiveRequestLoggingFilter(IOLoggerService ioLoggerService, IOLogPolicy policy, String sourceApplication,
+                                        RouteMatcher<Integer> requestBodyLimits, int defaultRequestBodyLimit,
+                                        RouteMatcher<Integer> responseBodyLimits, int defaultResponseBodyLimit,
+                                        IOLoggerMetrics metrics, CaptureBufferPool bufferPool,
+                                        PublicPathMatcher excludedPaths, Scheduler logScheduler) {
+        this.ioLoggerService = ioLoggerService;
+        this.policy = policy;
+        this.sourceApplication = sourceApplication;
+        this.requestBodyLimits = requestBodyLimits;
+        this.defaultRequestBodyLimit = defaultRequestBodyLimit;
+        this.responseBodyLimits = responseBodyLimits;
+        this.defaultResponseBodyLimit = defaultResponseBodyLimit;
+        this.metrics = metrics;
+        this.bufferPool = bufferPool;
+        this.excludedPaths = excludedPaths;
+        this.logScheduler = logScheduler;
+    }
+
+    /**
+     * Trace id of the exchange being processed, for code running inside the filtered chain.
+     */
+    public static Mono<String> currentTraceId() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(context.<String>getOrEmpty(IOLoggerConstant.TRACE_ID)));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        // probes and scrapes are neither wrapped nor logged
+        if (excludedPaths.matches(path)) {
+            return chain.filter(exchange);
+        }
+
+        Instant startTs = Instant.now();
+        String traceId = resolveTraceId(exchange);
+        CapturingServerHttpRequest request = new CapturingServerHttpRequest(exchange.getRequest(),
+                requestBodyLimits.match(path, defaultRequestBodyLimit), bufferPool);
+        CapturingServerHttpResponse response = new CapturingServerHttpResponse(exchange.getResponse(),
+                responseBodyLimits.match(path, defaultResponseBodyLimit), bufferPool);
+        ServerWebExchange capturing = exchange.mutate().request(request).response(response).build();
+        capturing.getAttributes().put(IOLoggerConstant.REQUEST_START_TIME, startTs);
+
+        return chain.filter(capturing)
+                .doFinally(signal -> finishCapture(capturing, request, response, startTs, traceId,
+                        signal == SignalType.ON_ERROR))
+                .contextWrite(Context.of(IOLoggerConstant.TRACE_ID, traceId));
+    }
+
+    private void finishCapture(ServerWebExchange exchange, CapturingServerHttpRequest request,
+                               CapturingServerHttpResponse response, Instant startTs, String traceId, boolean failed) {
+        // stop mirroring here, on the signalling thread: after a cancel, or with a body the handler never
+        // drained, chunks can still arrive on the event loop while the log thread decodes and releases
+        request.closeCapture();
+        response.closeCapture();
+        // an error escaping the chain becomes a 500 once WebFlux handles it, same as on the servlet side
+        HttpStatusCode statusCode = response.getStatusCode();
+        int status = statusCode != null ? statusCode.value() : 200;
+        if (failed && status < 400) {
+            status = 500;
+        }
+        long latencyMillis = Duration.between(startTs, Instant.now()).toMillis();
+        int finalStatus = status;
+        try {
+            logScheduler.schedule(() -> {
+                long captureStart = System.nanoTime();
+                try {
+                    logExchange(exchange, request, response, startTs, traceId, finalStatus, latencyMillis);
+                    metrics.recordCapture(ChannelType.REST, resolveRoute(exchange), System.nanoTime() - captureStart);
+                } catch (Exception e) {
+                    log.debug("IOLogger: capture failed for traceId={}", traceId, e);
+                } finally {
+                    // bodies were decoded into the entries above, the buffers can serve the next exchange
+                    request.releaseCapture();
+                    response.releaseCapture();
+                }
+            });
+        } catch (Exception e) {
+            log.debug("IOLogger: could not schedule capture for traceId={}", traceId, e);
+            request.releaseCapture();
+            response.releaseCapture();
+        }
+    }
+
+    private void logExchange(ServerWebExchange exchange, CapturingServerHttpRequest request,
+                             CapturingServerHttpResponse response, Instant startTs, String traceId, int status,
+                             long latencyMillis) {
+        ServerHttpRequest original = exchange.getRequest();
+        LogTier tier = policy.decideHttp(original.getPath().pathWithinApplication().value(), status, latencyMillis);
+        if (tier == LogTier.NONE) {
+            return;
+        }
+
+        boolean full = tier == LogTier.FULL;
+        String resource = IOLoggerUtil.buildFullResource(original);
+        ioLoggerService.logHttpInboundWithPayload(full ? request.getCapturedBody() : null, request.isBodyTruncated(),
+                full ? original.getHeaders().toSingleValueMap() : null, traceId, sourceApplication, resource, startTs, tier);
+        // slightly after inbound so sorting is deterministic
+        ioLoggerService.logHttpOutboundResponse(full ? response.getCapturedBody() : null, response.isBodyTruncated(),
+                traceId, sourceApplication, resource, status,
+                full ? response.getHeaders().toSingleValueMap() : null, tier, startTs.plusNanos(1));
+    }
+
+    // a traceId header wins over an incoming W3C traceparent, as in RequestWrappingFilter
+    private static String resolveTraceId(ServerWebExchange exchange) {
+        Object existing = exchange.getAttributes().get(IOLoggerConstant.TRACE_ID);
+        if (existing != null) return existing.toString();
+
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        String traceId = headers.getFirst(IOLoggerConstant.TRACE_ID);
+        // a client-supplied id that is not hex or too wide for trace_id would fail the whole insert batch
+        if (!TraceIdGenerator.isValid(traceId)) traceId = null;
+        TraceParent incoming = TraceParent.parse(headers.getFirst(TraceParent.HEADER));
+        if (traceId == null && incoming != null) {
+            traceId = incoming.traceId();
+        }
+        if (traceId == null) traceId = IOLoggerUtil.generateTraceId();
+
+        TraceParent span = incoming != null && incoming.traceId().equals(traceId)
+                ? incoming.child()
+                : TraceParent.forTraceId(traceId, TraceParent.FLAG_SAMPLED);
+        if (span != null) {
+            exchange.getAttributes().put(TraceParent.HEADER, span);
+            exchange.getResponse().getHeaders().set(TRACE_RESPONSE_HEADER, span.format());
+        }
+        exchange.getAttributes().put(IOLoggerConstant.TRACE_ID, traceId);
+        return traceId;
+    }
+
+    // URI template of the matched handler (e.g. /accounts/{id}), never the concrete URL
+    private static String resolveRoute(ServerWebExchange exchange) {
+        Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : IOLoggerMetrics.UNKNOWN_ROUTE;
+    }
+}
@@ -0,0 +1,176 @@
+package com.bank.iolog.redact;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Masks sensitive values in captured JSON bodies and header maps.
+ * <p>
+ * Bodies are redacted in one streaming pass: tokens are copied from a {@link JsonParser} straight to a
+ * {@link JsonGenerator}, and the value of a matching field (scalar, object or array) is replaced by the
+ * mask without being materialized. A field matches when its name is one of {@code fieldNames}
+ * (case-insensitive, anywhere in the document) or when its position matches one of {@code paths}.
+ * Paths are compiled into a trie once: {@code $.customer.address}, {@code $.items[*].cardNumber};
+ * arrays are transparent and {@code *} matches any single field name.
+ * <p>
+ * Bodies that are not JSON are returned unchanged. A body cut off by the capture limit is redacted up
+ * to the last complete token and the incomplete rest is dropped.
+ */
+public class PayloadRedactor {
+
+    private static final JsonFactory JSON = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_CONTENT)
+            .build();
+
+    private final Set<String> fieldNames;
+    private final PathNode paths;
+    private final Set<String> headerNames;
+    private final String mask;
+
+    public PayloadRedactor(Collection<String> fieldNames, Collection<String> paths, Collection<String> headerNames,
+                           String mask) {
+        this.fieldNames = caseInsensitive(fieldNames);
+        this.paths = PathNode.compile(paths);
+        this.headerNames = caseInsensitive(headerNames);
+        this.mask = mask;
+    }
+
+    public static PayloadRedactor none() {
+        return new PayloadRedactor(List.of(), List.of(), List.of(), "");
+    }
+
+    public Map<String, String> redactHeaders(Map<String, String> headers) {
+        if (headers == null || headerNames.isEmpty()) return headers;
+        Map<String, String> redacted = null;
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (headerNames.contains(header.getKey())) {
+                if (redacted == null) redacted = new LinkedHashMap<>(headers);
+                redacted.put(header.getKey(), mask);
+            }
+        }
+        return redacted != null ? redacted : headers;
+    }
+
+    public String redact(String body) {
+        if (body == null || (fieldNames.isEmpty() && paths.isEmpty()) || !looksLikeJson(body)) return body;
+
+        StringWriter out = new StringWriter(body.length());
+        try (JsonParser parser = JSON.createParser(body);
+             JsonGenerator generator = JSON.createGenerator(out)) {
+            try {
+                copyRedacted(parser, generator);
+            } catch (IOException e) {
+                // truncated or malformed: keep what was redacted so far, never the unparsed rest
+                generator.flush();
+            }
+        } catch (IOException e) {
+            return mask;
+        }
+        return out.toString();
+    }
+
+    private void copyRedacted(JsonParser parser, JsonGenerator generator) throws IOException {
+        PathNode[] nodes = new PathNode[16];
+        boolean[] arrays = new boolean[16];
+        int depth = 0;
+        PathNode pending = null;
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    PathNode node = depth == 0 ? paths : arrays[depth - 1] ? nodes[depth - 1] : pending;
+                    if (depth == nodes.length) {
+                        nodes = Arrays.copyOf(nodes, depth * 2);
+                        arrays = Arrays.copyOf(arrays, depth * 2);
+                    }
+                    nodes[depth] = node;
+                    arrays[depth] = token == JsonToken.START_ARRAY;
+                    depth++;
+                    generator.copyCurrentEvent(parser);
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    depth--;
+                    generator.copyCurrentEvent(parser);
+                }
+                case FIELD_NAME -> {
+                    String name = parser.currentName();
+                    PathNode parent = depth > 0 ? nodes[depth - 1] : null;
+                    PathNode child = parent != null ? parent.child(name) : null;
+                    generator.writeFieldName(name);
+                    if (fieldNames.contains(name) || (child != null && child.terminal)) {
+                        parser.nextToken();
+                        parser.skipChildren();
+                        generator.writeString(mask);
+                    } else {
+                        pending = child;
+                    }
+                }
+                default -> generator.copyCurrentEvent(parser);
+            }
+        }
+    }
+
+    private static boolean looksLikeJson(String body) {
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (!Character.isWhitespace(c)) return c == '{' || c == '[';
+        }
+        return false;
+    }
+
+    private static Set<String> caseInsensitive(Collection<String> values) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        if (values != null) {
+            values.stream().map(String::trim).filter(v -> !v.isEmpty()).forEach(set::add);
+        }
+        return set;
+    }
+
+    private static final class PathNode {
+
+        private static final String WILDCARD = "*";
+
+        private final Map<String, PathNode> children = new HashMap<>();
+        private boolean terminal;
+
+        static PathNode compile(Collection<String> paths) {
+            PathNode root = new PathNode();
+            if (paths == null) return root;
+            for (String path : paths) {
+                String normalized = path.trim().replace("[*]", "");
+                if (normalized.startsWith("$")) normalized = normalized.substring(1);
+                PathNode node = root;
+                for (String segment : normalized.split("\\.")) {
+                    if (segment.isEmpty()) continue;
+                    node = node.children.computeIfAbsent(segment, s -> new PathNode());
+                }
+                if (node != root) node.terminal = true;
+            }
+            return root;
+        }
+
+        PathNode child(String name) {
+            PathNode exact = children.get(name);
+            return exact != null ? exact : children.get(WILDCARD);
+        }
+
+        boolean isEmpty() {
+            return children.isEmpty();
+        }
+    }
+}
@@ -1,7 +1,29 @@
 package com.bank.iolog.repository;
 
 import com.bank.iolog.entity.IOLogEntry;
+import com.bank.iolog.query.IOLogEntryContent;
+import com.bank.iolog.query.IOLogEntrySummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface IOLogEntryRepository extends JpaRepository<IOLogEntry, Long> {
+
+    // served by idx_io_log_trace_ts, never touches the LOB columns
+    @Query("select new com.bank.iolog.query.IOLogEntrySummary(e.id, e.traceId, e.sourceApplication, e.resource, "
+            + "e.ioType, e.communicationChannel, e.httpStatus, e.payloadTruncated, e.timestamp) "
+            + "from IOLogEntry e where e.traceId = :traceId order by e.timestamp, e.id")
+    List<IOLogEntrySummary> findTimeline(@Param("traceId") String traceId);
+
+    // deduplicated header/payload are resolved from io_log_blobs in the same query
+    @Query("select new com.bank.iolog.query.IOLogEntryContent(e.id, e.header, e.headerData, hb.content, hb.contentData, "
+            + "e.payload, e.payloadData, pb.content, pb.contentData) "
+            + "from IOLogEntry e "
+            + "left join IOLogBlob hb on hb.hash = e.headerHash "
+            + "left join IOLogBlob pb on pb.hash = e.payloadHash "
+            + "where e.id = :id and e.traceId = :traceId")
+    Optional<IOLogEntryContent> findContent(@Param("traceId") String traceId, @Param("id") Long id);
 }
@@ -0,0 +1,36 @@
+package com.bank.iolog.schema;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Applies the column changes {@code ddl-auto=update} leaves alone: Hibernate adds missing columns and
+ * indexes but never widens an existing column, so tables created before trace ids grew to 32
+ * characters would reject every new entry.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class IOLogSchemaUpgrader {
+
+    private static final String TABLE = "io_log_entries";
+    private static final int TRACE_ID_LENGTH = 32;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void upgrade() {
+        try {
+            Integer length = jdbcTemplate.query(
+                    "SELECT CHARACTER_MAXIMUM_LENGTH FROM information_schema.COLUMNS "
+                            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = 'trace_id'",
+                    rs -> rs.next() ? rs.getInt(1) : null,
+                    TABLE);
+            if (length != null && length < TRACE_ID_LENGTH) {
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " MODIFY trace_id VARCHAR(" + TRACE_ID_LENGTH + ") NOT NULL");
+                log.info("IOLogger: widened {}.trace_id from {} to {} characters", TABLE, length, TRACE_ID_LENGTH);
+            }
+        } catch (Exception e) {
+            log.warn("IOLogger: schema upgrade of {} failed", TABLE, e);
+        }
+    }
+}
@@ -3,8 +3,11 @@ package com.bank.iolog.service;
 import com.bank.iolog.entity.IOLogEntry;
 import com.bank.iolog.enums.ChannelType;
 import com.bank.iolog.enums.IOType;
-import com.bank.iolog.repository.IOLogEntryRepository;
+import com.bank.iolog.enums.LogTier;
+import com.bank.iolog.metrics.IOLoggerMetrics;
+import com.bank.iolog.redact.PayloadRedactor;
 import com.bank.iolog.util.IOLoggerConstant;
+import com.bank.iolog.writer.IOLogWriter;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,11 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.Map;
@@ -27,11 +26,17 @@ import java.util.stream.Collectors;
 @Slf4j
 public class IOLoggerService {
 
-    private final IOLogEntryRepository ioLogEntryRepository;
+    private final IOLogWriter ioLogWriter;
+    private final IOLoggerMetrics metrics;
+    private final PayloadRedactor redactor;
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
+    public IOLoggerService(IOLogWriter ioLogWriter) {
+        this(ioLogWriter, IOLoggerMetrics.noop(), PayloadRedactor.none());
+    }
+
     // --- HTTP inbound ---
-    public void logHttpInboundRequest(ContentCachingRequestWrapper request, String traceId,
+    public void logHttpInboundRequest(HttpServletRequest request, String traceId,
                                       String sourceApplication, String resource) {
         try {
             // try to use recorded start time if present so ordering is accurate
@@ -45,43 +50,53 @@ public class IOLoggerService {
 
             // Prefer the cached request body attribute if present (set by RequestWrappingFilter)
             Object cachedBody = request.getAttribute(IOLoggerConstant.REQUEST_BODY);
-            String payload;
-            if (cachedBody instanceof String s && !s.isEmpty()) {
-                payload = s;
-            } else {
-                payload = extractPayload(request);
-            }
+            String payload = cachedBody instanceof String s && !s.isEmpty() ? s : null;
 
             IOLogEntry entry = buildLogEntry(
                     traceId, sourceApplication, resource, IOType.INBOUND,
-                    serialize(extractHeaders(request)), payload, null, ChannelType.REST,
+                    serializeHeaders(extractHeaders(request)), payload, null, ChannelType.REST,
                     ts
             );
-            ioLogEntryRepository.save(entry);
+            ioLogWriter.write(entry);
         } catch (Exception e) {
             log.error("Error while logging HTTP inbound request", e);
         }
     }
 
-    // New: accept payload and timestamp directly
-    public void logHttpInboundWithPayload(String payload, ContentCachingRequestWrapper request, String traceId,
-                                          String sourceApplication, String resource, Instant timestamp) {
+    // New: accept payload and timestamp directly; METADATA tier drops headers and payload
+    public void logHttpInboundWithPayload(String payload, boolean payloadTruncated, HttpServletRequest request,
+                                          String traceId, String sourceApplication, String resource, Instant timestamp,
+                                          LogTier tier) {
+        try {
+            logHttpInboundWithPayload(payload, payloadTruncated, tier == LogTier.FULL ? extractHeaders(request) : null,
+                    traceId, sourceApplication, resource, timestamp, tier);
+        } catch (Exception e) {
+            log.error("Error while logging HTTP inbound request with payload", e);
+        }
+    }
+
+    // Same with the request headers already extracted, for callers without a servlet request (WebFlux)
+    public void logHttpInboundWithPayload(String payload, boolean payloadTruncated, Map<String, String> requestHeaders,
+                                          String traceId, String sourceApplication, String resource, Instant timestamp,
+                                          LogTier tier) {
         try {
+            boolean full = tier == LogTier.FULL;
             IOLogEntry entry = buildLogEntry(
                     traceId, sourceApplication, resource, IOType.INBOUND,
-                    serialize(extractHeaders(request)), payload, null, ChannelType.REST,
+                    full ? serializeHeaders(requestHeaders) : null, full ? payload : null, null, ChannelType.REST,
                     timestamp != null ? timestamp : Instant.now()
             );
-            ioLogEntryRepository.save(entry);
+            entry.setPayloadTruncated(full && payloadTruncated);
+            ioLogWriter.write(entry);
         } catch (Exception e) {
             log.error("Error while logging HTTP inbound request with payload", e);
         }
     }
 
     // --- HTTP outbound ---
-    public void logHttpOutboundResponse(ContentCachingResponseWrapper response, String traceId,
+    public void logHttpOutboundResponse(String payload, boolean payloadTruncated, String traceId,
                                         String sourceApplication, String resource,
-                                        Integer httpStatus, Map<String, String> responseHeaders) {
+                                        Integer httpStatus, Map<String, String> responseHeaders, LogTier tier) {
         try {
             // Attempt to get the request start time from the current request attributes so outbound is ordered after inbound
             Instant outboundTs = Instant.now();
@@ -98,12 +113,26 @@ public class IOLoggerService {
                 outboundTs = Instant.now();
             }
 
+            logHttpOutboundResponse(payload, payloadTruncated, traceId, sourceApplication, resource, httpStatus,
+                    responseHeaders, tier, outboundTs);
+        } catch (Exception e) {
+            log.error("Error while logging HTTP outbound response", e);
+        }
+    }
+
+    // Same with an explicit timestamp, for callers without RequestContextHolder (WebFlux)
+    public void logHttpOutboundResponse(String payload, boolean payloadTruncated, String traceId,
+                                        String sourceApplication, String resource, Integer httpStatus,
+                                        Map<String, String> responseHeaders, LogTier tier, Instant timestamp) {
+        try {
+            boolean full = tier == LogTier.FULL;
             IOLogEntry entry = buildLogEntry(
                     traceId, sourceApplication, resource, IOType.OUTBOUND,
-                    serialize(responseHeaders), toStringSafe(response.getContentAsByteArray(), response.getCharacterEncoding()), httpStatus, ChannelType.REST,
-                    outboundTs
+                    full ? serializeHeaders(responseHeaders) : null, full ? payload : null, httpStatus, ChannelType.REST,
+                    timestamp != null ? timestamp : Instant.now()
             );
-            ioLogEntryRepository.save(entry);
+            entry.setPayloadTruncated(full && payloadTruncated);
+            ioLogWriter.write(entry);
         } catch (Exception e) {
             log.error("Error while logging HTTP outbound response", e);
         }
@@ -112,30 +141,77 @@ public class IOLoggerService {
     // --- Rabbit inbound ---
     public void logRabbitInboundRequest(Map<String, String> headers, String payload, String traceId,
                                         String sourceApplication, String resource) {
+        logRabbitInboundRequest(headers, payload, false, traceId, sourceApplication, resource, Instant.now(),
+                LogTier.FULL);
+    }
+
+    public void logRabbitInboundRequest(Map<String, String> headers, String payload, boolean payloadTruncated,
+                                        String traceId, String sourceApplication, String resource, Instant timestamp,
+                                        LogTier tier) {
         try {
+            boolean full = tier == LogTier.FULL;
             IOLogEntry entry = buildLogEntry(
                     traceId, sourceApplication, resource, IOType.INBOUND,
-                    serialize(headers), payload, null, ChannelType.RABBITMQ,
-                    Instant.now()
+                    full ? serializeHeaders(headers) : null, full ? payload : null, null, ChannelType.RABBITMQ,
+                    timestamp
             );
-            ioLogEntryRepository.save(entry);
+            entry.setPayloadTruncated(full && payloadTruncated);
+            ioLogWriter.write(entry);
         } catch (Exception e) {
-            log.error("Error while logging HTTP inbound request", e);
+            log.error("Error while logging Rabbit inbound message", e);
         }
     }
 
     // --- Rabbit outbound ---
+
+    /**
+     * @deprecated serializes {@code response} a second time, and not necessarily the way the message
+     * converter did; use {@link #logRabbitOutboundMessage}, which logs the body as published
+     */
+    @Deprecated
     public void logRabbitOutboundResponse(Object response, String traceId, String sourceApplication,
                                           String resource, Integer httpStatus, Map<String, String> headers) {
+        logRabbitOutboundResponse(response, traceId, sourceApplication, resource, httpStatus, headers, LogTier.FULL);
+    }
+
+    /**
+     * @deprecated see {@link #logRabbitOutboundResponse(Object, String, String, String, Integer, Map)}
+     */
+    @Deprecated
+    public void logRabbitOutboundResponse(Object response, String traceId, String sourceApplication,
+                                          String resource, Integer httpStatus, Map<String, String> headers,
+                                          LogTier tier) {
         try {
+            boolean full = tier == LogTier.FULL;
             IOLogEntry entry = buildLogEntry(
                     traceId, sourceApplication, resource, IOType.OUTBOUND,
-                    serialize(headers), serializeResponse(response), httpStatus, ChannelType.RABBITMQ,
-                    Instant.now()
+                    full ? serializeHeaders(headers) : null, full ? serializeResponse(response) : null, httpStatus,
+                    ChannelType.RABBITMQ, Instant.now()
             );
-            ioLogEntryRepository.save(entry);
+            ioLogWriter.write(entry);
         } catch (Exception e) {
-            log.error("Error while logging HTTP outbound response", e);
+            log.error("Error while logging Rabbit outbound response", e);
+        }
+    }
+
+    /**
+     * Logs a published message with the payload exactly as converted for the wire, so nothing is
+     * serialized a second time. {@code status} reflects the broker outcome, {@code null} when unknown.
+     */
+    public void logRabbitOutboundMessage(Map<String, String> headers, String payload, boolean payloadTruncated,
+                                         String traceId, String sourceApplication, String resource, Integer status,
+                                         Instant timestamp, LogTier tier) {
+        try {
+            boolean full = tier == LogTier.FULL;
+            IOLogEntry entry = buildLogEntry(
+                    traceId, sourceApplication, resource, IOType.OUTBOUND,
+                    full ? serializeHeaders(headers) : null, full ? payload : null, status, ChannelType.RABBITMQ,
+                    timestamp
+            );
+            entry.setPayloadTruncated(full && payloadTruncated);
+            ioLogWriter.write(entry);
+        } catch (Exception e) {
+            log.error("Error while logging Rabbit outbound message", e);
         }
     }
 
@@ -144,36 +220,24 @@ public class IOLoggerService {
                 .stream().collect(Collectors.toMap(h -> h, request::getHeader));
     }
 
-    private String extractPayload(ContentCachingRequestWrapper request) {
-        // Only use the cached request body. If there is no body, return null.
-        String body = toStringSafe(request.getContentAsByteArray(), request.getCharacterEncoding());
-        if (body != null && !body.isBlank()) return body;
-        return null;
-    }
-
-    private String toStringSafe(byte[] buf, String encoding) {
-        if (buf == null || buf.length == 0) return null;
-        Charset charset = getCharset(encoding);
-        return new String(buf, charset);
-    }
-
-    private static Charset getCharset(String encoding) {
-        try {
-            return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
-        } catch (Exception e) {
-            return StandardCharsets.UTF_8;
-        }
+    private String serializeHeaders(Map<String, String> headers) {
+        return serialize(redactor.redactHeaders(headers));
     }
 
     private String serialize(Object obj) {
+        if (obj == null) return null;
+        long start = System.nanoTime();
         try {
-            return obj == null ? null : MAPPER.writeValueAsString(obj);
+            return MAPPER.writeValueAsString(obj);
         } catch (JsonProcessingException e) {
             return null;
+        } finally {
+            metrics.recordSerialization(System.nanoTime() - start);
         }
     }
 
     private String serializeResponse(Object response) {
+        long start = System.nanoTime();
         try {
             if (response instanceof ResponseEntity<?> entity) {
                 return MAPPER.writeValueAsString(entity.getBody());
@@ -182,19 +246,22 @@ public class IOLoggerService {
         } catch (Exception e) {
             log.warn("Could not serialize response body", e);
             return null;
+        } finally {
+            metrics.recordSerialization(System.nanoTime() - start);
         }
     }
 
     private IOLogEntry buildLogEntry(String traceId, String sourceApp, String resource, IOType ioType,
                                      String header, String payload, Integer httpStatus, ChannelType channelType,
                                      Instant timestamp) {
+        // every captured body passes through here, so this is the single redaction point
         return IOLogEntry.builder()
                 .traceId(traceId)
                 .sourceApplication(sourceApp)
                 .resource(resource)
                 .ioType(ioType)
                 .header(header)
-                .payload(payload)
+                .payload(redactor.redact(payload))
                 .httpStatus(httpStatus)
                 .communicationChannel(channelType)
                 .timestamp(timestamp)
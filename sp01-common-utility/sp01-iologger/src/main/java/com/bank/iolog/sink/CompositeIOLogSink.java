@@ -0,0 +1,35 @@
+package com.bank.iolog.sink;
+
+import com.bank.iolog.entity.IOLogEntry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Hands every batch to each configured sink in order. A failing sink does not keep the batch from
+ * the others; the first failure is rethrown once all sinks were tried so writers still count it.
+ * The delegates are beans of their own and are closed by the container, not here.
+ */
+@Slf4j
+public class CompositeIOLogSink implements IOLogSink {
+
+    private final List<IOLogSink> delegates;
+
+    public CompositeIOLogSink(List<IOLogSink> delegates) {
+        this.delegates = List.copyOf(delegates);
+    }
+
+    @Override
+    public void write(List<IOLogEntry> entries) {
+        RuntimeException failure = null;
+        for (IOLogSink delegate : delegates) {
+            try {
+                delegate.write(entries);
+            } catch (RuntimeException e) {
+                log.warn("IOLogger: sink {} failed for {} entries", delegate.getClass().getSimpleName(), entries.size(), e);
+                if (failure == null) failure = e;
+            }
+        }
+        if (failure != null) throw failure;
+    }
+}
@@ -0,0 +1,14 @@
+package com.bank.iolog.sink;
+
+import com.bank.iolog.entity.IOLogEntry;
+
+import java.util.List;
+
+/**
+ * Final destination of IO log entries. Writers call it with one or more entries at a time;
+ * implementations should persist the whole list in as few round trips as possible.
+ */
+public interface IOLogSink {
+
+    void write(List<IOLogEntry> entries);
+}
@@ -0,0 +1,65 @@
+package com.bank.iolog.sink;
+
+import com.bank.iolog.entity.IOLogEntry;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the newest {@code capacity} entries in memory. Meant for tests and local development:
+ * inject the {@code ioLogMemorySink} bean and assert on {@link #getEntries()}.
+ */
+public class InMemoryIOLogSink implements IOLogSink {
+
+    private final int capacity;
+    private final ArrayDeque<IOLogEntry> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public InMemoryIOLogSink(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.entries = new ArrayDeque<>(Math.min(this.capacity, 1024));
+    }
+
+    @Override
+    public void write(List<IOLogEntry> batch) {
+        lock.lock();
+        try {
+            for (IOLogEntry entry : batch) {
+                if (entries.size() == capacity) {
+                    entries.pollFirst();
+                }
+                entries.addLast(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<IOLogEntry> getEntries() {
+        lock.lock();
+        try {
+            return List.copyOf(entries);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
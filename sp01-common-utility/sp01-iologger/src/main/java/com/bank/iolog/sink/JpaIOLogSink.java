@@ -0,0 +1,26 @@
+package com.bank.iolog.sink;
+
+import com.bank.iolog.entity.IOLogEntry;
+import com.bank.iolog.repository.IOLogEntryRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Persists entries through {@link IOLogEntryRepository}. Because the entity uses IDENTITY ids
+ * Hibernate issues one INSERT per row; prefer {@link JdbcBatchIOLogSink} for high volume.
+ */
+@RequiredArgsConstructor
+public class JpaIOLogSink implements IOLogSink {
+
+    private final IOLogEntryRepository ioLogEntryRepository;
+
+    @Override
+    public void write(List<IOLogEntry> entries) {
+        if (entries.size() == 1) {
+            ioLogEntryRepository.save(entries.get(0));
+        } else {
+            ioLogEntryRepository.saveAll(entries);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.bank.iolog.sink;
+
+import com.bank.iolog.entity.IOLogEntry;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Appends entries as gzip-compressed NDJSON ({@code <prefix>-<utc time>.ndjson.gz}, one JSON object per
+ * line) on local disk. Each batch is sync-flushed, so everything written so far can be read with
+ * {@code zcat} even while the file is open. Files roll once {@code maxFileSizeBytes} of uncompressed
+ * JSON were written, and only the newest {@code maxFiles} are kept.
+ */
+@Slf4j
+public class RollingNdjsonFileSink implements IOLogSink, AutoCloseable {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS")
+            .withZone(ZoneOffset.UTC);
+    private static final String SUFFIX = ".ndjson.gz";
+
+    private final Path directory;
+    private final String prefix;
+    private final long maxFileSizeBytes;
+    private final int maxFiles;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private CountingOutputStream counter;
+    private JsonGenerator generator;
+
+    public RollingNdjsonFileSink(Path directory, String prefix, long maxFileSizeBytes, int maxFiles) throws IOException {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.maxFileSizeBytes = maxFileSizeBytes;
+        this.maxFiles = Math.max(1, maxFiles);
+        Files.createDirectories(directory);
+    }
+
+    @Override
+    public void write(List<IOLogEntry> entries) {
+        lock.lock();
+        try {
+            if (generator == null || counter.count >= maxFileSizeBytes) {
+                roll();
+            }
+            for (IOLogEntry entry : entries) {
+                writeEntry(entry);
+            }
+            generator.flush();
+        } catch (IOException e) {
+            closeQuietly();
+            throw new UncheckedIOException("IOLogger: failed to append to NDJSON log in " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeEntry(IOLogEntry entry) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("traceId", entry.getTraceId());
+        generator.writeStringField("sourceApplication", entry.getSourceApplication());
+        generator.writeStringField("resource", entry.getResource());
+        generator.writeStringField("ioType", entry.getIoType() != null ? entry.getIoType().name() : null);
+        generator.writeStringField("channel",
+                entry.getCommunicationChannel() != null ? entry.getCommunicationChannel().name() : null);
+        if (entry.getHttpStatus() != null) {
+            generator.writeNumberField("httpStatus", entry.getHttpStatus());
+        }
+        generator.writeStringField("timestamp", entry.getTimestamp() != null ? entry.getTimestamp().toString() : null);
+        if (Boolean.TRUE.equals(entry.getPayloadTruncated())) {
+            generator.writeBooleanField("payloadTruncated", true);
+        }
+        // header and payload stay strings, they are logged exactly as captured
+        generator.writeStringField("header", entry.getHeader());
+        generator.writeStringField("payload", entry.getPayload());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void roll() throws IOException {
+        closeQuietly();
+        Path file = directory.resolve(prefix + "-" + FILE_TIME.format(Instant.now()) + SUFFIX);
+        OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        // syncFlush: flush() emits a complete deflate block instead of waiting for the next one
+        counter = new CountingOutputStream(new GZIPOutputStream(new BufferedOutputStream(out, 64 * 1024), 8192, true));
+        generator = JSON.createGenerator(counter);
+        generator.setRootValueSeparator(null);
+        deleteOldFiles();
+    }
+
+    private void deleteOldFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> logs = files
+                    .filter(p -> p.getFileName().toString().startsWith(prefix + "-")
+                            && p.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+            for (int i = 0; i < logs.size() - maxFiles; i++) {
+                Files.deleteIfExists(logs.get(i));
+            }
+        } catch (IOException e) {
+            log.warn("IOLogger: could not clean up old NDJSON logs in {}", directory, e);
+        }
+    }
+
+    private void closeQuietly() {
+        if (generator == null) return;
+        try {
+            generator.close();
+        } catch (IOException e) {
+            log.warn("IOLogger: failed to close NDJSON log", e);
+        } finally {
+            generator = null;
+            counter = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closeQuietly();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // counts uncompressed bytes, which is what the roll size refers to
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
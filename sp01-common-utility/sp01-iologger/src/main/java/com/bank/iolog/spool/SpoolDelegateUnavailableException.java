@@ -0,0 +1,12 @@
+package com.bank.iolog.spool;
+
+/**
+ * Thrown into a {@link SpoolJournal} replay when the database cannot be reached, so the segment is kept
+ * for the next attempt without counting as a failure of the segment itself.
+ */
+public class SpoolDelegateUnavailableException extends RuntimeException {
+
+    public SpoolDelegateUnavailableException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,272 @@
+package com.bank.iolog.spool;
+
+import com.bank.iolog.entity.IOLogEntry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of IO log entries on local disk, split into fixed-size memory-mapped segments.
+ * <p>
+ * Each record is {@code [int length][int crc32][payload]}; a zero length marks the end of the
+ * written part of a segment (mapped files are zero-filled). Appends go to the active segment and
+ * roll over to a new one when it is full. Segments found on startup are treated as sealed and are
+ * replayed before anything newer, so ordering is kept across restarts.
+ * <p>
+ * The journal never grows past {@code maxTotalBytes}: once another segment would not fit, new entries
+ * are dropped until replay frees space. A segment that fails to replay {@code maxReplayAttempts} times
+ * in a row for a reason other than an unavailable database is renamed to {@code *.quarantined} and
+ * left on disk for inspection.
+ */
+@Slf4j
+public class SpoolJournal implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "iolog-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String QUARANTINE_SUFFIX = ".quarantined";
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxTotalBytes;
+    private final int maxReplayAttempts;
+    private final ReentrantLock lock = new ReentrantLock();
+    // only touched by the replaying thread
+    private final Map<Path, Integer> replayFailures = new HashMap<>();
+
+    private long nextSequence;
+    private Path activePath;
+    private MappedByteBuffer active;
+    private boolean full;
+
+    public SpoolJournal(Path directory, int segmentSize, long maxTotalBytes, int maxReplayAttempts) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.maxTotalBytes = maxTotalBytes;
+        this.maxReplayAttempts = Math.max(1, maxReplayAttempts);
+        this.nextSequence = listSegments().stream()
+                .mapToLong(SpoolJournal::sequenceOf)
+                .max()
+                .orElse(-1) + 1;
+    }
+
+    /**
+     * @return how many of the entries were dropped because the journal is full
+     */
+    public int append(List<IOLogEntry> entries) throws IOException {
+        int dropped = 0;
+        lock.lock();
+        try {
+            boolean checkedSpace = false;
+            for (IOLogEntry entry : entries) {
+                byte[] record = SpoolRecordCodec.encode(entry);
+                int required = RECORD_HEADER_BYTES + record.length;
+                if (required + 4 > segmentSize) {
+                    log.warn("IOLogger: entry of {} bytes exceeds spool segment size, dropping it", record.length);
+                    continue;
+                }
+                if (active == null || active.remaining() < required + 4) {
+                    // the directory is listed at most once per call, however many entries are dropped
+                    if (!checkedSpace) {
+                        checkedSpace = true;
+                        updateFull();
+                    }
+                    if (full) {
+                        dropped++;
+                        continue;
+                    }
+                    rotate();
+                }
+                CRC32 crc = new CRC32();
+                crc.update(record);
+                active.putInt(record.length).putInt((int) crc.getValue()).put(record);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return dropped;
+    }
+
+    /**
+     * @return true if there is anything waiting to be replayed, including the active segment.
+     */
+    public boolean hasPending() {
+        lock.lock();
+        try {
+            return (active != null && active.position() > 0) || listSegments().stream().anyMatch(p -> !p.equals(activePath));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Seals the active segment and hands the entries of every sealed segment, oldest first, to
+     * {@code consumer} in batches. A segment is deleted only after all of its batches were accepted;
+     * if the consumer throws, replay stops and the segment is kept for the next attempt, so delivery
+     * is at-least-once. Records are decoded one batch at a time, never a whole segment at once.
+     * <p>
+     * The consumer signals an unreachable database with {@link SpoolDelegateUnavailableException}, which
+     * does not count towards quarantining the segment; any other failure does.
+     */
+    public void replay(int batchSize, Consumer<List<IOLogEntry>> consumer) throws IOException {
+        List<Path> sealed;
+        lock.lock();
+        try {
+            if (active != null && active.position() > 0) {
+                seal();
+            }
+            Path current = activePath;
+            sealed = listSegments().stream().filter(p -> !p.equals(current)).toList();
+        } finally {
+            lock.unlock();
+        }
+
+        for (Path segment : sealed) {
+            try {
+                replaySegment(segment, batchSize, consumer);
+            } catch (SpoolDelegateUnavailableException e) {
+                throw e;
+            } catch (IOException | RuntimeException e) {
+                int failures = replayFailures.merge(segment, 1, Integer::sum);
+                if (failures < maxReplayAttempts) {
+                    throw e;
+                }
+                quarantine(segment, e);
+                continue;
+            }
+            replayFailures.remove(segment);
+            Files.deleteIfExists(segment);
+        }
+    }
+
+    public void force() {
+        lock.lock();
+        try {
+            if (active != null) active.force();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    private void rotate() throws IOException {
+        if (active != null) {
+            seal();
+        }
+        activePath = directory.resolve(SEGMENT_PREFIX + String.format("%020d", nextSequence++) + SEGMENT_SUFFIX);
+        try (FileChannel channel = FileChannel.open(activePath, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            active = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private void seal() {
+        active.force();
+        active = null;
+        activePath = null;
+    }
+
+    private void replaySegment(Path segment, int batchSize, Consumer<List<IOLogEntry>> consumer) throws IOException {
+        ByteBuffer buf;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        List<IOLogEntry> batch = new ArrayList<>(batchSize);
+        while (buf.remaining() >= RECORD_HEADER_BYTES) {
+            int length = buf.getInt();
+            if (length <= 0) break;
+            int expectedCrc = buf.getInt();
+            if (length > buf.remaining()) {
+                log.warn("IOLogger: spool segment {} ends with a partial record, skipping the tail", segment);
+                break;
+            }
+            byte[] record = new byte[length];
+            buf.get(record);
+            CRC32 crc = new CRC32();
+            crc.update(record);
+            if ((int) crc.getValue() != expectedCrc) {
+                log.warn("IOLogger: CRC mismatch in spool segment {}, skipping the rest of it", segment);
+                break;
+            }
+            batch.add(SpoolRecordCodec.decode(ByteBuffer.wrap(record)));
+            if (batch.size() >= batchSize) {
+                consumer.accept(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            consumer.accept(batch);
+        }
+    }
+
+    private void quarantine(Path segment, Exception cause) {
+        replayFailures.remove(segment);
+        Path target = segment.resolveSibling(segment.getFileName() + QUARANTINE_SUFFIX);
+        try {
+            Files.move(segment, target, StandardCopyOption.REPLACE_EXISTING);
+            log.error("IOLogger: spool segment {} failed to replay {} times, quarantined as {}", segment,
+                    maxReplayAttempts, target, cause);
+        } catch (IOException e) {
+            log.error("IOLogger: failed to quarantine spool segment {}, deleting it", segment, e);
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException ignored) {
+                // nothing left to try, the next replay will see it again
+            }
+        }
+    }
+
+    // one more segment must fit under maxTotalBytes; the active one is counted as it stays on disk
+    private void updateFull() {
+        boolean nowFull = (listSegments().size() + 1L) * segmentSize > maxTotalBytes;
+        if (nowFull && !full) {
+            log.warn("IOLogger: spool journal reached {} bytes, dropping new entries until it is replayed",
+                    maxTotalBytes);
+        } else if (!nowFull && full) {
+            log.info("IOLogger: spool journal has room again, spooling resumed");
+        }
+        full = nowFull;
+    }
+
+    private List<Path> listSegments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            log.warn("IOLogger: unable to list spool directory {}", directory, e);
+            return List.of();
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
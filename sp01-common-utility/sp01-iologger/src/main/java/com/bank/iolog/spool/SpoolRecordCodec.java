@@ -0,0 +1,101 @@
+package com.bank.iolog.spool;
+
+import com.bank.iolog.entity.IOLogEntry;
+import com.bank.iolog.enums.ChannelType;
+import com.bank.iolog.enums.IOType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Compact binary form of an {@link IOLogEntry} used inside spool segments. Strings and the compressed
+ * columns are written as length-prefixed blocks (UTF-8 for strings) with -1 meaning null; the id is
+ * never spooled.
+ */
+final class SpoolRecordCodec {
+
+    private SpoolRecordCodec() {}
+
+    static byte[] encode(IOLogEntry entry) {
+        byte[][] blocks = {
+                utf8(entry.getTraceId()), utf8(entry.getSourceApplication()), utf8(entry.getResource()),
+                utf8(entry.getIoType() != null ? entry.getIoType().name() : null),
+                utf8(entry.getCommunicationChannel() != null ? entry.getCommunicationChannel().name() : null),
+                utf8(entry.getHeader()), utf8(entry.getPayload()),
+                entry.getHeaderData(), entry.getPayloadData()
+        };
+        int size = 1 + 5 + 12;
+        for (byte[] s : blocks) {
+            size += 4 + (s != null ? s.length : 0);
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        for (byte[] s : blocks) {
+            if (s == null) {
+                buf.putInt(-1);
+            } else {
+                buf.putInt(s.length).put(s);
+            }
+        }
+        Boolean truncated = entry.getPayloadTruncated();
+        buf.put((byte) (truncated == null ? -1 : truncated ? 1 : 0));
+        buf.put((byte) (entry.getHttpStatus() != null ? 1 : 0));
+        buf.putInt(entry.getHttpStatus() != null ? entry.getHttpStatus() : 0);
+        Instant ts = entry.getTimestamp() != null ? entry.getTimestamp() : Instant.EPOCH;
+        buf.putLong(ts.getEpochSecond());
+        buf.putInt(ts.getNano());
+        return buf.array();
+    }
+
+    static IOLogEntry decode(ByteBuffer buf) {
+        String traceId = readString(buf);
+        String sourceApplication = readString(buf);
+        String resource = readString(buf);
+        String ioType = readString(buf);
+        String channel = readString(buf);
+        String header = readString(buf);
+        String payload = readString(buf);
+        byte[] headerData = readBytes(buf);
+        byte[] payloadData = readBytes(buf);
+        byte truncated = buf.get();
+        boolean hasStatus = buf.get() == 1;
+        int status = buf.getInt();
+        Instant ts = Instant.ofEpochSecond(buf.getLong(), buf.getInt());
+
+        return IOLogEntry.builder()
+                .traceId(traceId)
+                .sourceApplication(sourceApplication)
+                .resource(resource)
+                .ioType(ioType != null ? IOType.valueOf(ioType) : null)
+                .communicationChannel(channel != null ? ChannelType.valueOf(channel) : null)
+                .header(header)
+                .payload(payload)
+                .headerData(headerData)
+                .payloadData(payloadData)
+                .payloadTruncated(truncated < 0 ? null : truncated == 1)
+                .httpStatus(hasStatus ? status : null)
+                .timestamp(ts)
+                .build();
+    }
+
+    private static byte[] utf8(String s) {
+        return s != null ? s.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static byte[] readBytes(ByteBuffer buf) {
+        int len = buf.getInt();
+        if (len < 0) return null;
+        byte[] bytes = new byte[len];
+        buf.get(bytes);
+        return bytes;
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int len = buf.getInt();
+        if (len < 0) return null;
+        String s = new String(buf.array(), buf.arrayOffset() + buf.position(), len, StandardCharsets.UTF_8);
+        buf.position(buf.position() + len);
+        return s;
+    }
+}
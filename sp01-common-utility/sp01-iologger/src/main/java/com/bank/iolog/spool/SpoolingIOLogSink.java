@@ -0,0 +1,153 @@
+package com.bank.iolog.spool;
+
+import com.bank.iolog.entity.IOLogEntry;
+import com.bank.iolog.sink.IOLogSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puts a {@link SpoolJournal} in front of a database sink. The first write that fails because the
+ * database cannot be reached marks it unavailable; from then on entries go straight to the local
+ * journal without touching the database (and its connection timeout) at all. A background replayer
+ * periodically drains the journal back into the delegate and switches writes back to it once a full
+ * replay succeeds, or right away when nothing was spooled.
+ * <p>
+ * A batch the database rejects for its content (too long a value, a constraint) is retried entry by
+ * entry and only the rejected entries are dropped; such errors never mark the database unavailable
+ * and are never spooled, so they cannot block the journal.
+ */
+@Slf4j
+public class SpoolingIOLogSink implements IOLogSink, AutoCloseable {
+
+    private final IOLogSink delegate;
+    private final SpoolJournal journal;
+    private final int replayBatchSize;
+    private final ScheduledExecutorService replayer;
+
+    private volatile boolean delegateAvailable = true;
+
+    public SpoolingIOLogSink(IOLogSink delegate, SpoolJournal journal, long replayIntervalMillis, int replayBatchSize) {
+        this.delegate = delegate;
+        this.journal = journal;
+        this.replayBatchSize = replayBatchSize;
+        this.replayer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "iolog-spool-replayer");
+            t.setDaemon(true);
+            return t;
+        });
+        // journal may still hold entries from a previous run
+        this.replayer.scheduleWithFixedDelay(this::replay, replayIntervalMillis, replayIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void write(List<IOLogEntry> entries) {
+        if (delegateAvailable) {
+            try {
+                deliver(entries);
+                return;
+            } catch (SpoolDelegateUnavailableException e) {
+                delegateAvailable = false;
+                log.warn("IOLogger: log database unavailable, spooling entries to local journal", e.getCause());
+            }
+        }
+        spool(entries);
+    }
+
+    public boolean isDelegateAvailable() {
+        return delegateAvailable;
+    }
+
+    /**
+     * @throws SpoolDelegateUnavailableException when the database cannot be reached
+     */
+    private void deliver(List<IOLogEntry> entries) {
+        try {
+            delegate.write(entries);
+        } catch (Exception e) {
+            if (isUnavailable(e)) throw new SpoolDelegateUnavailableException(e);
+            if (entries.size() == 1) {
+                log.error("IOLogger: log database rejected an entry, dropping it", e);
+                return;
+            }
+            // find the offending rows instead of losing the whole batch with them
+            int rejected = 0;
+            for (IOLogEntry entry : entries) {
+                try {
+                    delegate.write(List.of(entry));
+                } catch (Exception single) {
+                    if (isUnavailable(single)) throw new SpoolDelegateUnavailableException(single);
+                    rejected++;
+                }
+            }
+            log.error("IOLogger: log database rejected {} of {} entries, dropping them", rejected, entries.size(), e);
+        }
+    }
+
+    // connectivity and transient failures only; anything else is a problem with the data itself
+    static boolean isUnavailable(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof TransientDataAccessException || t instanceof RecoverableDataAccessException
+                    || t instanceof DataAccessResourceFailureException || t instanceof CannotCreateTransactionException
+                    || t instanceof SQLTransientException || t instanceof SQLRecoverableException
+                    || t instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void spool(List<IOLogEntry> entries) {
+        try {
+            int dropped = journal.append(entries);
+            if (dropped > 0) {
+                log.debug("IOLogger: spool journal full, {} entries dropped", dropped);
+            }
+        } catch (Exception e) {
+            log.error("IOLogger: failed to spool {} entries, they are lost", entries.size(), e);
+        }
+    }
+
+    private void replay() {
+        try {
+            journal.force();
+            if (!journal.hasPending()) {
+                // nothing to catch up on (or spooling itself failed): let the next write probe the database
+                if (!delegateAvailable) {
+                    delegateAvailable = true;
+                    log.info("IOLogger: spool journal empty, retrying log database writes");
+                }
+                return;
+            }
+            journal.replay(replayBatchSize, this::deliver);
+            // the database accepted the whole backlog; anything spooled meanwhile goes on the next run
+            if (!delegateAvailable) {
+                delegateAvailable = true;
+                log.info("IOLogger: spool journal replayed, log database writes resumed");
+            }
+        } catch (Exception e) {
+            log.debug("IOLogger: spool replay failed, log database still unavailable", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        replayer.shutdown();
+        try {
+            replayer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+}
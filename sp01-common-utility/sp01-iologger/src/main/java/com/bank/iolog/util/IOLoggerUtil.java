@@ -1,19 +1,25 @@
 package com.bank.iolog.util;
 
+import com.bank.core.trace.TraceIdGenerator;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 
-import java.util.UUID;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class IOLoggerUtil {
 
+    // names come from request headers, so the cache is capped; misses just fall back to Charset.forName
+    private static final int MAX_CACHED_CHARSETS = 32;
+    private static final Map<String, Charset> CHARSETS = new ConcurrentHashMap<>();
+
     private IOLoggerUtil() {}
 
     public static String generateTraceId() {
-        return UUID.randomUUID()
-                .toString()
-                .replace("-", "")
-                .substring(0, 10)
-                .toUpperCase();
+        return TraceIdGenerator.generate();
     }
 
     public static String buildFullResource(HttpServletRequest request) {
@@ -22,4 +28,45 @@ public class IOLoggerUtil {
         String full = (query == null || query.isEmpty()) ? url.toString() : url.append('?').append(query).toString();
         return request.getMethod() + " " + full;
     }
+
+    public static String buildFullResource(ServerHttpRequest request) {
+        return request.getMethod().name() + " " + request.getURI();
+    }
+
+    public static Charset resolveCharset(String encoding) {
+        if (encoding == null || encoding.equalsIgnoreCase("UTF-8")) return StandardCharsets.UTF_8;
+        Charset cached = CHARSETS.get(encoding);
+        if (cached != null) return cached;
+        try {
+            Charset charset = Charset.forName(encoding);
+            if (CHARSETS.size() < MAX_CACHED_CHARSETS) {
+                CHARSETS.put(encoding, charset);
+            }
+            return charset;
+        } catch (Exception e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    /**
+     * Decodes at most {@code maxBytes} of a message body without copying it first; the cut is moved back
+     * so a multi-byte UTF-8 sequence is never split.
+     */
+    public static String decodeCapped(byte[] body, int maxBytes, String contentEncoding) {
+        if (body == null) return null;
+        int length = body.length;
+        if (length > maxBytes) {
+            length = Math.max(0, maxBytes);
+            while (length > 0 && (body[length] & 0xC0) == 0x80) length--;
+        }
+        return new String(body, 0, length, resolveCharset(contentEncoding));
+    }
+
+    public static Map<String, String> stringifyHeaders(Map<String, Object> source) {
+        Map<String, String> headers = HashMap.newHashMap(source.size() + 1);
+        for (Map.Entry<String, Object> header : source.entrySet()) {
+            headers.put(header.getKey(), String.valueOf(header.getValue()));
+        }
+        return headers;
+    }
 }
@@ -0,0 +1,93 @@
+package com.bank.iolog.util;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps request paths to configured values. Patterns are compiled once: plain paths go into a hash
+ * lookup, {@code /prefix/**} patterns into a longest-first prefix list and only the remaining
+ * wildcard patterns fall back to Spring's {@link PathPattern}, sorted once by
+ * {@link PathPattern#SPECIFICITY_COMPARATOR}. The most specific match wins: an exact path first,
+ * otherwise the more specific of the first matching prefix and the first matching wildcard.
+ */
+public final class RouteMatcher<T> {
+
+    private final Map<String, T> exact;
+    private final List<Prefix<T>> prefixes;
+    private final List<Wildcard<T>> wildcards;
+
+    private RouteMatcher(Map<String, T> exact, List<Prefix<T>> prefixes, List<Wildcard<T>> wildcards) {
+        this.exact = exact;
+        this.prefixes = prefixes;
+        this.wildcards = wildcards;
+    }
+
+    public static <T> RouteMatcher<T> compile(Map<String, T> rules) {
+        Map<String, T> exact = new HashMap<>();
+        List<Prefix<T>> prefixes = new ArrayList<>();
+        List<Wildcard<T>> wildcards = new ArrayList<>();
+
+        rules.forEach((pattern, value) -> {
+            if (pattern.endsWith("/**") && !hasWildcard(pattern.substring(0, pattern.length() - 3))) {
+                String base = pattern.substring(0, pattern.length() - 3);
+                prefixes.add(new Prefix<>(base, base + "/", PathPatternParser.defaultInstance.parse(pattern), value));
+            } else if (!hasWildcard(pattern)) {
+                exact.put(pattern, value);
+            } else {
+                wildcards.add(new Wildcard<>(PathPatternParser.defaultInstance.parse(pattern), value));
+            }
+        });
+        prefixes.sort(Comparator.comparingInt((Prefix<T> p) -> p.base().length()).reversed());
+        wildcards.sort(Comparator.comparing(Wildcard::pattern, PathPattern.SPECIFICITY_COMPARATOR));
+        return new RouteMatcher<>(exact, List.copyOf(prefixes), List.copyOf(wildcards));
+    }
+
+    public boolean isEmpty() {
+        return exact.isEmpty() && prefixes.isEmpty() && wildcards.isEmpty();
+    }
+
+    public T match(String path, T defaultValue) {
+        if (path == null) return defaultValue;
+
+        T value = exact.get(path);
+        if (value != null) return value;
+
+        Prefix<T> prefixMatch = null;
+        for (Prefix<T> prefix : prefixes) {
+            if (path.startsWith(prefix.withSlash()) || path.equals(prefix.base())) {
+                prefixMatch = prefix;
+                break;
+            }
+        }
+
+        if (!wildcards.isEmpty()) {
+            PathContainer container = PathContainer.parsePath(path);
+            for (Wildcard<T> wildcard : wildcards) {
+                if (wildcard.pattern().matches(container)) {
+                    // e.g. /api/*/status is more specific than /api/**
+                    boolean wildcardWins = prefixMatch == null
+                            || PathPattern.SPECIFICITY_COMPARATOR.compare(wildcard.pattern(), prefixMatch.pattern()) < 0;
+                    return wildcardWins ? wildcard.value() : prefixMatch.value();
+                }
+            }
+        }
+        return prefixMatch != null ? prefixMatch.value() : defaultValue;
+    }
+
+    private static boolean hasWildcard(String pattern) {
+        return pattern.indexOf('*') >= 0 || pattern.indexOf('?') >= 0 || pattern.indexOf('{') >= 0;
+    }
+
+    private record Prefix<T>(String base, String withSlash, PathPattern pattern, T value) {
+    }
+
+    private record Wildcard<T>(PathPattern pattern, T value) {
+    }
+}
@@ -0,0 +1,215 @@
+package com.bank.iolog.writer;
+
+import com.bank.iolog.entity.IOLogEntry;
+import com.bank.iolog.enums.OverflowPolicy;
+import com.bank.iolog.sink.IOLogSink;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Queues entries in a bounded ring buffer and persists them in batches from dedicated writer
+ * threads, so request and listener threads never wait on the logging database.
+ * A batch is flushed once it reaches {@code batchSize} entries or {@code flushInterval} elapses,
+ * whichever comes first. {@link #close()} stops the workers and flushes whatever is still queued.
+ * With {@link OverflowPolicy#METADATA_ONLY} entries that find the queue full even without header and
+ * payload are counted apart from other drops, see {@link #getMetadataOnlyDroppedEntries()}.
+ * Workers are platform daemon threads unless another {@link ThreadFactory} is given, e.g. a virtual one.
+ * Virtual workers only pay off if the sink's driver blocks without {@code synchronized}: on Java 21 a
+ * virtual thread parked inside a monitor pins its carrier. Connector/J 9.x locks with ReentrantLock;
+ * 8.0.x does not, and with it the workers should stay on platform threads.
+ */
+@Slf4j
+public class AsyncIOLogWriter implements IOLogWriter {
+
+    private final IOLogSink ioLogSink;
+    private final BlockingQueue<IOLogEntry> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long shutdownTimeoutMillis;
+    private final OverflowPolicy overflowPolicy;
+    private final int metadataOnlyThreshold;
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicLong droppedEntries = new AtomicLong();
+    private final AtomicLong metadataOnlyDroppedEntries = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    public AsyncIOLogWriter(IOLogSink ioLogSink, int capacity, int batchSize,
+                            long flushIntervalMillis, int writerThreads, OverflowPolicy overflowPolicy,
+                            long shutdownTimeoutMillis) {
+        this(ioLogSink, capacity, batchSize, flushIntervalMillis, writerThreads, overflowPolicy, shutdownTimeoutMillis,
+                Thread.ofPlatform().name("iolog-writer-", 0).daemon().factory());
+    }
+
+    public AsyncIOLogWriter(IOLogSink ioLogSink, int capacity, int batchSize,
+                            long flushIntervalMillis, int writerThreads, OverflowPolicy overflowPolicy,
+                            long shutdownTimeoutMillis, ThreadFactory threadFactory) {
+        this.ioLogSink = ioLogSink;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.overflowPolicy = overflowPolicy;
+        // keep the last quarter of the buffer for metadata-only entries once it starts filling up
+        this.metadataOnlyThreshold = Math.max(1, capacity / 4);
+
+        for (int i = 0; i < Math.max(1, writerThreads); i++) {
+            Thread worker = threadFactory.newThread(this::drainLoop);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @Override
+    public void write(IOLogEntry entry) {
+        if (!running) {
+            // writer is shutting down: persist inline rather than lose the entry
+            flush(List.of(entry));
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> enqueueBlocking(entry);
+            case DROP_OLDEST -> enqueueDroppingOldest(entry);
+            case METADATA_ONLY -> enqueueMetadataOnly(entry);
+        }
+        // close() may have drained the queue between the check above and the enqueue; nobody else will now
+        if (!running) {
+            drainInline();
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getDroppedEntries() {
+        return droppedEntries.get();
+    }
+
+    // entries stripped to metadata that still did not fit into the queue
+    public long getMetadataOnlyDroppedEntries() {
+        return metadataOnlyDroppedEntries.get();
+    }
+
+    private void enqueueBlocking(IOLogEntry entry) {
+        try {
+            // wait in slices so a producer never stays parked on a full queue once the workers are gone
+            while (!queue.offer(entry, flushIntervalNanos, TimeUnit.NANOSECONDS)) {
+                if (!running) {
+                    flush(List.of(entry));
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedEntries.incrementAndGet();
+        }
+    }
+
+    private void enqueueDroppingOldest(IOLogEntry entry) {
+        while (!queue.offer(entry)) {
+            if (queue.poll() != null) {
+                droppedEntries.incrementAndGet();
+            }
+        }
+    }
+
+    private void enqueueMetadataOnly(IOLogEntry entry) {
+        if (queue.remainingCapacity() <= metadataOnlyThreshold) {
+            entry.setHeader(null);
+            entry.setPayload(null);
+        }
+        if (!queue.offer(entry)) {
+            metadataOnlyDroppedEntries.incrementAndGet();
+        }
+    }
+
+    private void drainLoop() {
+        List<IOLogEntry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                IOLogEntry first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // entries already taken off the queue would be lost with the batch; the flag is restored
+                // afterwards so the sink is not interrupted mid-write
+                flush(batch);
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // collect up to batchSize entries, waiting at most one flush interval for stragglers
+    private void fillBatch(List<IOLogEntry> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            if (batch.size() >= batchSize) {
+                return;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            IOLogEntry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<IOLogEntry> batch) {
+        if (batch.isEmpty()) return;
+        try {
+            ioLogSink.write(batch);
+        } catch (Exception e) {
+            droppedEntries.addAndGet(batch.size());
+            log.error("IOLogger: failed to persist batch of {} entries", batch.size(), e);
+        }
+    }
+
+    private void drainInline() {
+        List<IOLogEntry> remaining = new ArrayList<>(queue.size());
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            flush(remaining.subList(from, Math.min(remaining.size(), from + batchSize)));
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMillis;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // flush anything the workers did not get to before the timeout
+        drainInline();
+        long dropped = droppedEntries.get() + metadataOnlyDroppedEntries.get();
+        if (dropped > 0) {
+            log.warn("IOLogger: async writer stopped, {} entries were dropped in total ({} in metadata-only mode)",
+                    dropped, metadataOnlyDroppedEntries.get());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.bank.iolog.writer;
+
+import com.bank.iolog.entity.IOLogEntry;
+
+/**
+ * Hands a built {@link IOLogEntry} over to persistence. Implementations decide whether that
+ * happens on the caller's thread or on a dedicated writer thread.
+ */
+public interface IOLogWriter extends AutoCloseable {
+
+    void write(IOLogEntry entry);
+
+    @Override
+    default void close() {
+        // nothing to release by default
+    }
+}
@@ -0,0 +1,21 @@
+package com.bank.iolog.writer;
+
+import com.bank.iolog.entity.IOLogEntry;
+import com.bank.iolog.sink.IOLogSink;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Persists every entry on the calling thread (the original behaviour).
+ */
+@RequiredArgsConstructor
+public class SyncIOLogWriter implements IOLogWriter {
+
+    private final IOLogSink ioLogSink;
+
+    @Override
+    public void write(IOLogEntry entry) {
+        ioLogSink.write(List.of(entry));
+    }
+}
@@ -0,0 +1,159 @@
+package com.bank.iolog.redact;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PayloadRedactorTest {
+
+    private static final String MASK = "***";
+
+    @Test
+    void masksFieldsByNameAtAnyDepthIgnoringCase() {
+        PayloadRedactor redactor = fields("password", "pin");
+
+        assertEquals("{\"user\":\"bob\",\"Password\":\"***\",\"card\":{\"PIN\":\"***\",\"last4\":\"1234\"}}",
+                redactor.redact("{\"user\":\"bob\",\"Password\":\"s3cret\",\"card\":{\"PIN\":4321,\"last4\":\"1234\"}}"));
+    }
+
+    @Test
+    void masksObjectAndArrayValuesWhole() {
+        PayloadRedactor redactor = fields("address", "tokens");
+
+        assertEquals("{\"address\":\"***\",\"tokens\":\"***\",\"id\":7}",
+                redactor.redact("{\"address\":{\"street\":\"Main\",\"geo\":[1,2]},\"tokens\":[\"a\",{\"b\":1}],\"id\":7}"));
+    }
+
+    @Test
+    void masksNamedFieldsNestedInArrays() {
+        PayloadRedactor redactor = fields("cardNumber");
+
+        assertEquals("{\"cards\":[{\"cardNumber\":\"***\"},[{\"cardNumber\":\"***\",\"type\":\"debit\"}]]}",
+                redactor.redact("{\"cards\":[{\"cardNumber\":\"4111\"},[{\"cardNumber\":\"5500\",\"type\":\"debit\"}]]}"));
+    }
+
+    @Test
+    void masksPathsOnlyAtTheirPosition() {
+        PayloadRedactor redactor = paths("$.customer.address");
+
+        assertEquals("{\"customer\":{\"address\":\"***\"},\"shipping\":{\"address\":\"Dock 4\"},\"address\":\"HQ\"}",
+                redactor.redact("{\"customer\":{\"address\":\"Home 1\"},\"shipping\":{\"address\":\"Dock 4\"},\"address\":\"HQ\"}"));
+    }
+
+    @Test
+    void looksThroughArraysOnPaths() {
+        PayloadRedactor redactor = paths("$.items[*].cardNumber");
+
+        assertEquals("{\"items\":[{\"cardNumber\":\"***\",\"qty\":1},{\"cardNumber\":\"***\"}],\"cardNumber\":\"top\"}",
+                redactor.redact("{\"items\":[{\"cardNumber\":\"4111\",\"qty\":1},{\"cardNumber\":\"5500\"}],\"cardNumber\":\"top\"}"));
+    }
+
+    @Test
+    void appliesPathsToEveryElementOfATopLevelArray() {
+        PayloadRedactor redactor = paths("$.iban");
+
+        assertEquals("[{\"iban\":\"***\"},{\"iban\":\"***\",\"name\":\"x\"}]",
+                redactor.redact("[{\"iban\":\"DE89\"},{\"iban\":\"FR76\",\"name\":\"x\"}]"));
+    }
+
+    @Test
+    void matchesAnySingleFieldWithAWildcard() {
+        PayloadRedactor redactor = paths("$.*.pin", "$.accounts.*");
+
+        assertEquals("{\"a\":{\"pin\":\"***\",\"id\":1},\"b\":{\"pin\":\"***\"},\"pin\":\"top\",\"c\":{\"d\":{\"pin\":\"deep\"}},"
+                        + "\"accounts\":{\"main\":\"***\",\"savings\":\"***\"}}",
+                redactor.redact("{\"a\":{\"pin\":\"1\",\"id\":1},\"b\":{\"pin\":\"2\"},\"pin\":\"top\",\"c\":{\"d\":{\"pin\":\"deep\"}},"
+                        + "\"accounts\":{\"main\":{\"iban\":\"DE89\"},\"savings\":\"FR76\"}}"));
+    }
+
+    @Test
+    void prefersAnExactPathSegmentOverTheWildcard() {
+        PayloadRedactor redactor = paths("$.*.secret", "$.public.name");
+
+        assertEquals("{\"public\":{\"name\":\"***\",\"secret\":\"visible\"},\"other\":{\"secret\":\"***\"}}",
+                redactor.redact("{\"public\":{\"name\":\"n\",\"secret\":\"visible\"},\"other\":{\"secret\":\"s\"}}"));
+    }
+
+    @Test
+    void neverLeaksASensitiveValueFromATruncatedBody() {
+        PayloadRedactor redactor = new PayloadRedactor(List.of("password"), List.of("$.cards[*].number"), List.of(), MASK);
+        String body = "{\"user\":\"bob\",\"password\":\"Zq9Xw7Vy\",\"cards\":[{\"number\":\"Kp4Lm8Nr\",\"type\":\"debit\"}]}";
+
+        for (int length = 0; length <= body.length(); length++) {
+            String redacted = redactor.redact(body.substring(0, length));
+            assertFalse(redacted.contains("Zq") || redacted.contains("Kp"), "leaked at " + length + ": " + redacted);
+        }
+    }
+
+    @Test
+    void keepsTheRedactedPrefixOfATruncatedBody() {
+        PayloadRedactor redactor = fields("password");
+
+        String redacted = redactor.redact("{\"password\":\"Zq9Xw7Vy\",\"user\":\"bob\",\"note\":\"cut her");
+
+        assertTrue(redacted.startsWith("{\"password\":\"***\",\"user\":\"bob\""), redacted);
+        assertFalse(redacted.contains("cut her"), redacted);
+    }
+
+    @Test
+    void dropsEverythingAfterMalformedJson() {
+        PayloadRedactor redactor = fields("password");
+
+        String redacted = redactor.redact("{\"a\":1,,\"password\":\"Zq9Xw7Vy\"}");
+
+        assertFalse(redacted.contains("Zq9Xw7Vy"), redacted);
+    }
+
+    @Test
+    void returnsNonJsonBodiesUnchanged() {
+        PayloadRedactor redactor = fields("password");
+
+        assertEquals("password=s3cret", redactor.redact("password=s3cret"));
+        assertEquals("", redactor.redact(""));
+        assertEquals(null, redactor.redact(null));
+    }
+
+    @Test
+    void leavesBodiesAloneWithoutRules() {
+        String body = "{\"password\":\"s3cret\"}";
+
+        assertSame(body, PayloadRedactor.none().redact(body));
+    }
+
+    @Test
+    void masksHeadersIgnoringCaseWithoutTouchingTheOriginal() {
+        PayloadRedactor redactor = new PayloadRedactor(List.of(), List.of(), List.of("authorization", "Cookie"), MASK);
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Authorization", "Bearer abc");
+        headers.put("cookie", "session=1");
+        headers.put("Accept", "application/json");
+
+        Map<String, String> redacted = redactor.redactHeaders(headers);
+
+        assertEquals(Map.of("Authorization", MASK, "cookie", MASK, "Accept", "application/json"), redacted);
+        assertEquals("Bearer abc", headers.get("Authorization"));
+    }
+
+    @Test
+    void returnsTheSameHeaderMapWhenNothingMatches() {
+        PayloadRedactor redactor = new PayloadRedactor(List.of(), List.of(), List.of("authorization"), MASK);
+        Map<String, String> headers = Map.of("Accept", "application/json");
+
+        assertSame(headers, redactor.redactHeaders(headers));
+    }
+
+    private static PayloadRedactor fields(String... names) {
+        return new PayloadRedactor(List.of(names), List.of(), List.of(), MASK);
+    }
+
+    private static PayloadRedactor paths(String... paths) {
+        return new PayloadRedactor(List.of(), List.of(paths), List.of(), MASK);
+    }
+}
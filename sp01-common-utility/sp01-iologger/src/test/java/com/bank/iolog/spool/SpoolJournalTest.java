@@ -0,0 +1,215 @@
+package com.bank.iolog.spool;
+
+import com.bank.iolog.entity.IOLogEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLTransientConnectionException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpoolJournalTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysEntriesInOrderAndDeletesSegments() throws IOException {
+        SpoolJournal journal = new SpoolJournal(directory, SEGMENT_SIZE, Long.MAX_VALUE, 3);
+        journal.append(entries(0, 5));
+
+        List<List<IOLogEntry>> batches = new ArrayList<>();
+        journal.replay(2, batches::add);
+
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        assertEquals(traceIds(0, 5), traceIds(batches));
+        assertFalse(journal.hasPending());
+        assertEquals(0, segmentFiles().size());
+    }
+
+    @Test
+    void rollsOverToNewSegmentsAndKeepsOrder() throws IOException {
+        SpoolJournal journal = new SpoolJournal(directory, 1024, Long.MAX_VALUE, 3);
+        for (int i = 0; i < 40; i++) {
+            journal.append(entries(i, i + 1));
+        }
+        assertTrue(segmentFiles().size() > 1);
+
+        List<List<IOLogEntry>> batches = new ArrayList<>();
+        journal.replay(100, batches::add);
+
+        assertEquals(traceIds(0, 40), traceIds(batches));
+    }
+
+    @Test
+    void replaysSegmentsLeftByAPreviousRunFirst() throws IOException {
+        SpoolJournal previous = new SpoolJournal(directory, SEGMENT_SIZE, Long.MAX_VALUE, 3);
+        previous.append(entries(0, 2));
+        previous.close();
+
+        SpoolJournal journal = new SpoolJournal(directory, SEGMENT_SIZE, Long.MAX_VALUE, 3);
+        assertTrue(journal.hasPending());
+        journal.append(entries(2, 4));
+
+        List<List<IOLogEntry>> batches = new ArrayList<>();
+        journal.replay(10, batches::add);
+
+        assertEquals(traceIds(0, 4), traceIds(batches));
+    }
+
+    @Test
+    void dropsEntriesLargerThanASegment() throws IOException {
+        SpoolJournal journal = new SpoolJournal(directory, 256, Long.MAX_VALUE, 3);
+        IOLogEntry huge = entry(0).toBuilder().payload("x".repeat(1024)).build();
+
+        journal.append(List.of(huge));
+
+        assertFalse(journal.hasPending());
+    }
+
+    @Test
+    void stopsSpoolingAtTheSizeLimit() throws IOException {
+        SpoolJournal journal = new SpoolJournal(directory, 1024, 2048, 3);
+
+        int dropped = 0;
+        for (int i = 0; i < 100; i++) {
+            dropped += journal.append(entries(i, i + 1));
+        }
+
+        assertTrue(dropped > 0);
+        assertTrue(segmentFiles().size() <= 2);
+
+        // replay frees the space again
+        journal.replay(100, batch -> {});
+        assertEquals(0, journal.append(entries(100, 101)));
+    }
+
+    @Test
+    void skipsTheRestOfASegmentAfterACrcMismatch() throws IOException {
+        Path segment = writeSegment(entries(0, 3));
+        int firstLength = readInt(segment, 0);
+        // flip the first payload byte of the second record
+        int secondPayload = 8 + firstLength + 8;
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(secondPayload);
+            int b = file.read();
+            file.seek(secondPayload);
+            file.write(b ^ 0xFF);
+        }
+
+        List<List<IOLogEntry>> batches = new ArrayList<>();
+        new SpoolJournal(directory, SEGMENT_SIZE, Long.MAX_VALUE, 3).replay(10, batches::add);
+
+        assertEquals(List.of(traceId(0)), traceIds(batches));
+        assertEquals(0, segmentFiles().size());
+    }
+
+    @Test
+    void skipsAPartialRecordAtTheEndOfASegment() throws IOException {
+        Path segment = writeSegment(entries(0, 2));
+        int firstLength = readInt(segment, 0);
+        // a length running past the end of the segment, as left by a crash mid-append
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(8 + firstLength);
+            file.writeInt(SEGMENT_SIZE);
+        }
+
+        List<List<IOLogEntry>> batches = new ArrayList<>();
+        new SpoolJournal(directory, SEGMENT_SIZE, Long.MAX_VALUE, 3).replay(10, batches::add);
+
+        assertEquals(List.of(traceId(0)), traceIds(batches));
+    }
+
+    @Test
+    void keepsTheSegmentWhileTheDatabaseIsUnavailable() throws IOException {
+        SpoolJournal journal = new SpoolJournal(directory, SEGMENT_SIZE, Long.MAX_VALUE, 2);
+        journal.append(entries(0, 1));
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(SpoolDelegateUnavailableException.class, () -> journal.replay(10, batch -> {
+                throw new SpoolDelegateUnavailableException(new SQLTransientConnectionException("down"));
+            }));
+        }
+
+        assertEquals(1, segmentFiles().size());
+        assertTrue(journal.hasPending());
+    }
+
+    @Test
+    void quarantinesASegmentThatKeepsFailing() throws IOException {
+        SpoolJournal journal = new SpoolJournal(directory, SEGMENT_SIZE, Long.MAX_VALUE, 2);
+        journal.append(entries(0, 1));
+
+        assertThrows(IllegalStateException.class, () -> journal.replay(10, batch -> {
+            throw new IllegalStateException("rejected");
+        }));
+        journal.replay(10, batch -> {
+            throw new IllegalStateException("rejected");
+        });
+
+        assertFalse(journal.hasPending());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.filter(p -> p.toString().endsWith(".seg.quarantined")).count());
+        }
+    }
+
+    private Path writeSegment(List<IOLogEntry> entries) throws IOException {
+        SpoolJournal journal = new SpoolJournal(directory, SEGMENT_SIZE, Long.MAX_VALUE, 3);
+        journal.append(entries);
+        journal.close();
+        return segmentFiles().get(0);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+
+    private static int readInt(Path file, long position) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            raf.seek(position);
+            return raf.readInt();
+        }
+    }
+
+    private static List<IOLogEntry> entries(int from, int to) {
+        return IntStream.range(from, to).mapToObj(SpoolJournalTest::entry).toList();
+    }
+
+    private static IOLogEntry entry(int i) {
+        return IOLogEntry.builder()
+                .traceId(traceId(i))
+                .sourceApplication("account-service")
+                .resource("GET /api/v1/accounts/" + i)
+                .payload("{\"id\":" + i + "}")
+                .timestamp(Instant.ofEpochSecond(1_760_000_000L + i))
+                .build();
+    }
+
+    private static String traceId(int i) {
+        return String.format("%032x", i);
+    }
+
+    private static List<String> traceIds(int from, int to) {
+        return IntStream.range(from, to).mapToObj(SpoolJournalTest::traceId).toList();
+    }
+
+    private static List<String> traceIds(List<List<IOLogEntry>> batches) {
+        return batches.stream().flatMap(List::stream).map(IOLogEntry::getTraceId).toList();
+    }
+}
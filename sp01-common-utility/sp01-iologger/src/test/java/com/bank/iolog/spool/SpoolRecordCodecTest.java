@@ -0,0 +1,93 @@
+package com.bank.iolog.spool;
+
+import com.bank.iolog.entity.IOLogEntry;
+import com.bank.iolog.enums.ChannelType;
+import com.bank.iolog.enums.IOType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SpoolRecordCodecTest {
+
+    @Test
+    void roundTripsEveryField() {
+        IOLogEntry entry = IOLogEntry.builder()
+                .traceId("4bf92f3577b34da6a3ce929d0e0e4736")
+                .sourceApplication("account-service")
+                .resource("POST /api/v1/transfers")
+                .ioType(IOType.INBOUND)
+                .communicationChannel(ChannelType.REST)
+                .header("{\"content-type\":\"application/json\"}")
+                .payload("{\"note\":\"Überweisung – 10 €\"}")
+                .headerData(new byte[]{1, 2, 3})
+                .payloadData(new byte[0])
+                .payloadTruncated(true)
+                .httpStatus(201)
+                .timestamp(Instant.ofEpochSecond(1_760_000_000L, 123_456_789))
+                .build();
+
+        assertEquals(entry, roundTrip(entry));
+    }
+
+    @Test
+    void keepsNullsApartFromEmptyValues() {
+        IOLogEntry entry = IOLogEntry.builder()
+                .traceId("")
+                .timestamp(Instant.ofEpochSecond(0, 1))
+                .build();
+
+        IOLogEntry decoded = roundTrip(entry);
+
+        assertEquals("", decoded.getTraceId());
+        assertNull(decoded.getSourceApplication());
+        assertNull(decoded.getIoType());
+        assertNull(decoded.getCommunicationChannel());
+        assertNull(decoded.getPayload());
+        assertNull(decoded.getHeaderData());
+        assertNull(decoded.getPayloadTruncated());
+        assertNull(decoded.getHttpStatus());
+        assertEquals(entry, decoded);
+    }
+
+    @Test
+    void distinguishesStatusZeroFromNoStatus() {
+        IOLogEntry entry = IOLogEntry.builder().httpStatus(0).payloadTruncated(false).timestamp(Instant.EPOCH).build();
+
+        IOLogEntry decoded = roundTrip(entry);
+
+        assertEquals(0, decoded.getHttpStatus());
+        assertEquals(false, decoded.getPayloadTruncated());
+    }
+
+    @Test
+    void storesMissingTimestampAsEpoch() {
+        IOLogEntry decoded = roundTrip(IOLogEntry.builder().traceId("a").build());
+
+        assertEquals(Instant.EPOCH, decoded.getTimestamp());
+    }
+
+    @Test
+    void rejectsTruncatedRecords() {
+        byte[] record = SpoolRecordCodec.encode(IOLogEntry.builder()
+                .traceId("4bf92f3577b34da6a3ce929d0e0e4736")
+                .payload("{\"amount\":10}")
+                .timestamp(Instant.EPOCH)
+                .build());
+
+        // cut inside the fixed tail, inside a string block and inside a length prefix
+        for (int length : new int[]{record.length - 1, 20, 2}) {
+            ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(record, length));
+            assertThrows(RuntimeException.class, () -> SpoolRecordCodec.decode(truncated));
+        }
+    }
+
+    private static IOLogEntry roundTrip(IOLogEntry entry) {
+        return SpoolRecordCodec.decode(ByteBuffer.wrap(SpoolRecordCodec.encode(entry)));
+    }
+}
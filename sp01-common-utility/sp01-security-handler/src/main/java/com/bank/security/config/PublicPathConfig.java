@@ -0,0 +1,16 @@
+package com.bank.security.config;
+
+import com.bank.core.path.PublicPathMatcher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class PublicPathConfig {
+
+    // the only PublicPathMatcher bean; the IO logger compiles its own copy of sp01.public-paths the same way
+    @Bean
+    public PublicPathMatcher publicPathMatcher(Environment environment) {
+        return PublicPathMatcher.fromProperties(environment::getProperty);
+    }
+}
@@ -0,0 +1,24 @@
+package com.bank.security.config;
+
+import com.bank.security.ratelimit.RateLimitProperties;
+import com.bank.security.ratelimit.RateLimiterMetrics;
+import com.bank.security.ratelimit.TokenBucketRateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "sp01.rate-limit", name = "enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter(RateLimitProperties properties) {
+        return new TokenBucketRateLimiter(properties.getMaxBuckets(), properties.getStripes(),
+                properties.getSweepInterval());
+    }
+
+    @Bean
+    public RateLimiterMetrics rateLimiterMetrics(TokenBucketRateLimiter tokenBucketRateLimiter) {
+        return new RateLimiterMetrics(tokenBucketRateLimiter);
+    }
+}
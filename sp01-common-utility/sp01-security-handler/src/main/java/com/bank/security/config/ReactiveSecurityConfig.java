@@ -0,0 +1,43 @@
+package com.bank.security.config;
+
+import com.bank.core.path.PublicPathMatcher;
+import com.bank.security.filter.JwtAuthenticationWebFilter;
+import com.bank.security.service.JwtService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveSecurityConfig {
+
+    private final JwtService jwtService;
+    private final PublicPathMatcher publicPaths;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        ServerWebExchangeMatcher publicExchanges = exchange ->
+                publicPaths.matches(exchange.getRequest().getPath().pathWithinApplication().value())
+                        ? ServerWebExchangeMatcher.MatchResult.match()
+                        : ServerWebExchangeMatcher.MatchResult.notMatch();
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                // every request carries its token, nothing is kept in a WebSession
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchange -> exchange
+                        .matchers(publicExchanges).permitAll()
+                        .anyExchange().authenticated()
+                )
+                .addFilterAt(new JwtAuthenticationWebFilter(jwtService, publicPaths), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
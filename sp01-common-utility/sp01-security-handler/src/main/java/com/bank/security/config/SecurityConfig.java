@@ -1,7 +1,14 @@
 package com.bank.security.config;
 
+import com.bank.core.path.PublicPathMatcher;
 import com.bank.security.filter.JwtAuthenticationFilter;
+import com.bank.security.ratelimit.RateLimitFilter;
+import com.bank.security.ratelimit.RateLimitProperties;
+import com.bank.security.ratelimit.TokenBucketRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -9,23 +16,40 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.util.UrlPathHelper;
 
 @Configuration
 @EnableWebSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final PublicPathMatcher publicPaths;
+    private final ObjectProvider<TokenBucketRateLimiter> rateLimiter;
+    private final RateLimitProperties rateLimitProperties;
+    private final ObjectMapper objectMapper;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        RequestMatcher publicRequests = request ->
+                publicPaths.matches(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(publicRequests).permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
+        // only present with sp01.rate-limit.enabled=true
+        TokenBucketRateLimiter limiter = rateLimiter.getIfAvailable();
+        if (limiter != null) {
+            http.addFilterAfter(new RateLimitFilter(limiter, rateLimitProperties, objectMapper),
+                    JwtAuthenticationFilter.class);
+        }
+
         return http.build();
     }
 }
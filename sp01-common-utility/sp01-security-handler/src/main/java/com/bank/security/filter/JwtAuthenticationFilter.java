@@ -1,5 +1,6 @@
 package com.bank.security.filter;
 
+import com.bank.core.path.PublicPathMatcher;
 import com.bank.security.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -11,6 +12,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
 
 import java.io.IOException;
 
@@ -19,6 +21,13 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final PublicPathMatcher publicPaths;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // probes and scrapes on sp01.public-paths carry no token
+        return publicPaths.matches(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
@@ -27,8 +36,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            if (jwtService.isTokenValid(token)) {
-                Authentication auth = jwtService.getAuthentication(token);
+            // one verification per request, repeated tokens come from the cache
+            Authentication auth = jwtService.authenticate(token);
+            if (auth != null) {
                 SecurityContextHolder.getContext().setAuthentication(auth);
             } else {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
@@ -0,0 +1,44 @@
+package com.bank.security.filter;
+
+import com.bank.core.path.PublicPathMatcher;
+import com.bank.security.service.JwtService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@link JwtAuthenticationFilter}. Verification is CPU-only and usually a cache
+ * hit, so it runs inline; the authentication is handed down through the Reactor context.
+ */
+@RequiredArgsConstructor
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final JwtService jwtService;
+    private final PublicPathMatcher publicPaths;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        // probes and scrapes on sp01.public-paths carry no token
+        if (publicPaths.matches(exchange.getRequest().getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        Authentication auth = authHeader != null && authHeader.startsWith("Bearer ")
+                ? jwtService.authenticate(authHeader.substring(7))
+                : null;
+        if (auth == null) {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth));
+    }
+}
@@ -0,0 +1,93 @@
+package com.bank.security.ratelimit;
+
+import com.bank.models.shared.api.ApiErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers 429 with {@code Retry-After} and an {@link ApiErrorResponse} once a caller's bucket is empty.
+ * Runs after {@code JwtAuthenticationFilter}; requests without an authentication (public paths) pass.
+ * Not a bean on purpose: as one, the servlet container would run it before the security chain.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String RATE_LIMITED = "RATE_LIMITED";
+
+    private final TokenBucketRateLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final RateLimitProperties.KeyBy keyBy;
+    private final TokenBucketRateLimiter.Limit defaultLimit;
+    private final Map<String, TokenBucketRateLimiter.Limit> roleLimits;
+
+    public RateLimitFilter(TokenBucketRateLimiter limiter, RateLimitProperties properties, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.keyBy = properties.getKeyBy();
+        this.defaultLimit = TokenBucketRateLimiter.Limit.of(properties.getCapacity(), properties.getRefillPerSecond());
+        Map<String, TokenBucketRateLimiter.Limit> limits = new LinkedHashMap<>();
+        properties.getRoles().forEach((role, limit) ->
+                limits.put(role, TokenBucketRateLimiter.Limit.of(limit.getCapacity(), limit.getRefillPerSecond())));
+        this.roleLimits = limits;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String limitedRole = null;
+        String firstRole = null;
+        for (GrantedAuthority authority : auth.getAuthorities()) {
+            String role = authority.getAuthority();
+            if (firstRole == null) firstRole = role;
+            if (roleLimits.containsKey(role)) {
+                limitedRole = role;
+                break;
+            }
+        }
+        TokenBucketRateLimiter.Limit limit = limitedRole != null ? roleLimits.get(limitedRole) : defaultLimit;
+        String role = limitedRole != null ? limitedRole : firstRole;
+        long waitNanos = keyBy == RateLimitProperties.KeyBy.ROLE && role != null
+                ? limiter.tryAcquireShared(role, limit)
+                : limiter.tryAcquire(auth.getName(), limit);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ApiErrorResponse errorResponse = new ApiErrorResponse(
+                Instant.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                "Rate limit exceeded, retry after " + retryAfterSeconds + " s",
+                request.getRequestURI(),
+                RATE_LIMITED
+        );
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
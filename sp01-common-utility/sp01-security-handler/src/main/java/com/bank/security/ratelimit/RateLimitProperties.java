@@ -0,0 +1,45 @@
+package com.bank.security.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "sp01.rate-limit")
+@Setter
+@Getter
+public class RateLimitProperties {
+
+    // applies to authenticated requests only, after JwtAuthenticationFilter
+    private boolean enabled = false;
+    // SUBJECT gives every caller its own bucket, ROLE makes all callers with the same role share one
+    private KeyBy keyBy = KeyBy.SUBJECT;
+    // burst size and sustained requests per second when no role limit applies
+    private int capacity = 100;
+    private double refillPerSecond = 50;
+    // per-role overrides, e.g. sp01.rate-limit.roles[ROLE_PARTNER].refill-per-second=200; first matching role wins
+    private Map<String, Limit> roles = new LinkedHashMap<>();
+    // memory bound; keys beyond it share an overflow bucket per stripe
+    private int maxBuckets = 100_000;
+    private int stripes = 16;
+    // buckets that refilled completely are dropped at most this often per stripe
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    public enum KeyBy {
+        SUBJECT,
+        ROLE
+    }
+
+    @Setter
+    @Getter
+    public static class Limit {
+
+        private int capacity = 100;
+        private double refillPerSecond = 50;
+    }
+}
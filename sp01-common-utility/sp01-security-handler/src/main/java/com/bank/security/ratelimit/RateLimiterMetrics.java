@@ -0,0 +1,35 @@
+package com.bank.security.ratelimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code ratelimit.requests{result=allowed|rejected}}, {@code ratelimit.buckets} and
+ * {@code ratelimit.evictions} for the {@link TokenBucketRateLimiter}.
+ */
+@RequiredArgsConstructor
+public class RateLimiterMetrics implements MeterBinder {
+
+    private final TokenBucketRateLimiter limiter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("ratelimit.requests", limiter, TokenBucketRateLimiter::getAllowed)
+                .tag("result", "allowed")
+                .description("Authenticated requests let through by the rate limiter")
+                .register(registry);
+        FunctionCounter.builder("ratelimit.requests", limiter, TokenBucketRateLimiter::getRejected)
+                .tag("result", "rejected")
+                .description("Requests answered with 429 by the rate limiter")
+                .register(registry);
+        FunctionCounter.builder("ratelimit.evictions", limiter, TokenBucketRateLimiter::getEvicted)
+                .description("Idle buckets dropped by the rate limiter")
+                .register(registry);
+        Gauge.builder("ratelimit.buckets", limiter, TokenBucketRateLimiter::size)
+                .description("Buckets currently held by the rate limiter")
+                .register(registry);
+    }
+}
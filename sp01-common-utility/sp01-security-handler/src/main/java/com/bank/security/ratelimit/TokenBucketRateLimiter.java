@@ -0,0 +1,175 @@
+package com.bank.security.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets per key, lock-free and allocation-free on the hot path. Each bucket is a single
+ * {@link AtomicLong} holding its theoretical arrival time (GCRA, which behaves exactly like a token
+ * bucket of {@code capacity} tokens refilled continuously), updated with one CAS per request.
+ * <p>
+ * Callers are keyed by their own name and groups (a role shared by all its callers) by theirs, each in a
+ * map of its own so the two never collide and no composite key has to be built per request.
+ * <p>
+ * Keys are spread over stripes, each with a share of {@code maxBuckets}. A full bucket is
+ * indistinguishable from a new one, so buckets that refilled completely are dropped when their stripe
+ * is swept, at most once per {@code sweepInterval}. When a stripe is still full, new keys share the
+ * stripe's overflow bucket for their limit instead of growing memory.
+ */
+public class TokenBucketRateLimiter {
+
+    private final Stripe[] stripes;
+    private final int maxBucketsPerStripe;
+    private final long sweepIntervalNanos;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    public TokenBucketRateLimiter(int maxBuckets, int stripes, Duration sweepInterval) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, stripes));
+        this.stripes = new Stripe[stripeCount];
+        long now = System.nanoTime();
+        this.sweepIntervalNanos = sweepInterval.toNanos();
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe(now + sweepIntervalNanos);
+        }
+        this.maxBucketsPerStripe = Math.max(1, maxBuckets / stripeCount);
+    }
+
+    /**
+     * Takes one token from the bucket of the caller {@code key}.
+     *
+     * @return 0 when the request may proceed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key, Limit limit) {
+        long now = System.nanoTime();
+        Stripe stripe = stripes[spread(key.hashCode()) & (stripes.length - 1)];
+        return acquire(stripe, stripe.buckets, key, limit, now);
+    }
+
+    /**
+     * Takes one token from the bucket shared by everyone in {@code group}, kept apart from caller buckets.
+     *
+     * @return 0 when the request may proceed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquireShared(String group, Limit limit) {
+        long now = System.nanoTime();
+        Stripe stripe = stripes[spread(group.hashCode()) & (stripes.length - 1)];
+        return acquire(stripe, stripe.groupBuckets, group, limit, now);
+    }
+
+    private long acquire(Stripe stripe, ConcurrentHashMap<String, Bucket> buckets, String key, Limit limit, long now) {
+        sweepIfDue(stripe, now);
+
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = stripe.size() < maxBucketsPerStripe
+                    ? buckets.computeIfAbsent(key, k -> new Bucket(limit, now))
+                    : stripe.overflow.computeIfAbsent(limit, l -> new Bucket(l, now));
+        }
+
+        long waitNanos = bucket.acquire(now);
+        (waitNanos == 0 ? allowed : rejected).increment();
+        return waitNanos;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public long getAllowed() {
+        return allowed.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getEvicted() {
+        return evicted.sum();
+    }
+
+    private void sweepIfDue(Stripe stripe, long now) {
+        long due = stripe.nextSweep.get();
+        // one caller per stripe wins the sweep, everyone else carries on
+        if (now - due < 0 || !stripe.nextSweep.compareAndSet(due, now + sweepIntervalNanos)) return;
+        sweep(stripe.buckets, now);
+        sweep(stripe.groupBuckets, now);
+    }
+
+    private void sweep(ConcurrentHashMap<String, Bucket> buckets, long now) {
+        buckets.values().removeIf(bucket -> {
+            boolean idle = bucket.isFull(now);
+            if (idle) evicted.increment();
+            return idle;
+        });
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Burst size and sustained rate, precomputed as GCRA intervals.
+     */
+    public record Limit(long intervalNanos, long burstNanos) {
+
+        public static Limit of(int capacity, double refillPerSecond) {
+            if (capacity < 1 || refillPerSecond <= 0) {
+                throw new IllegalArgumentException("rate limit needs capacity >= 1 and refillPerSecond > 0");
+            }
+            long interval = Math.max(1, (long) (1_000_000_000d / refillPerSecond));
+            return new Limit(interval, interval * capacity);
+        }
+    }
+
+    private static final class Bucket {
+
+        private final AtomicLong theoreticalArrival;
+        private final long intervalNanos;
+        private final long burstNanos;
+
+        private Bucket(Limit limit, long now) {
+            this.theoreticalArrival = new AtomicLong(now);
+            this.intervalNanos = limit.intervalNanos();
+            this.burstNanos = limit.burstNanos();
+        }
+
+        private long acquire(long now) {
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long next = (tat - now > 0 ? tat : now) + intervalNanos;
+                long allowAt = next - burstNanos;
+                if (allowAt - now > 0) return allowAt - now;
+                if (theoreticalArrival.compareAndSet(tat, next)) return 0;
+            }
+        }
+
+        // all tokens are back, a fresh bucket would behave the same
+        private boolean isFull(long now) {
+            return theoreticalArrival.get() - now <= 0;
+        }
+    }
+
+    private static final class Stripe {
+
+        private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, Bucket> groupBuckets = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Limit, Bucket> overflow = new ConcurrentHashMap<>();
+        private final AtomicLong nextSweep;
+
+        private Stripe(long firstSweep) {
+            this.nextSweep = new AtomicLong(firstSweep);
+        }
+
+        private int size() {
+            return buckets.size() + groupBuckets.size();
+        }
+    }
+}
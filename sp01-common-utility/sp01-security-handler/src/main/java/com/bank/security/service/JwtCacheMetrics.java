@@ -0,0 +1,37 @@
+package com.bank.security.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hit rate and size of the verified-token cache: {@code jwt.cache.requests{result=hit|miss}} and
+ * {@code jwt.cache.size}. Bound by Spring Boot's metrics auto-configuration when actuator is present.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtCacheMetrics implements MeterBinder {
+
+    private final JwtService jwtService;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        VerifiedTokenCache cache = jwtService.getTokenCache();
+        if (cache == null) return;
+
+        FunctionCounter.builder("jwt.cache.requests", cache, VerifiedTokenCache::getHits)
+                .tag("result", "hit")
+                .description("JWT verifications answered from the verified-token cache")
+                .register(registry);
+        FunctionCounter.builder("jwt.cache.requests", cache, VerifiedTokenCache::getMisses)
+                .tag("result", "miss")
+                .description("JWT verifications that had to check the signature")
+                .register(registry);
+        Gauge.builder("jwt.cache.size", cache, VerifiedTokenCache::size)
+                .description("Verified tokens currently cached")
+                .register(registry);
+    }
+}
@@ -0,0 +1,252 @@
+package com.bank.security.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SigningKeyResolver;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Verification keys by {@code kid}, from {@code jwt.keys} and an optional JWKS file. Tokens without a
+ * {@code kid} are checked against {@code jwt.secret}. Supports HMAC secrets and RSA/EC public keys.
+ * <p>
+ * The keys are one immutable snapshot behind a volatile field: a reload builds a new snapshot and swaps
+ * it in, so verification never takes a lock and in-flight requests keep the snapshot they started with.
+ * When a reload drops or replaces a key, {@code onKeysRevoked} runs so tokens it verified stop being
+ * trusted. A JWKS file that fails to load on refresh leaves the current keys in place.
+ */
+@Slf4j
+public class JwtKeyRegistry implements SigningKeyResolver, AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final JwtProperties properties;
+    private final Runnable onKeysRevoked;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile KeySet keySet = new KeySet(null, Map.of());
+    private FileTime jwksModified;
+    private ScheduledExecutorService scheduler;
+
+    public JwtKeyRegistry(JwtProperties properties, Runnable onKeysRevoked) {
+        this.properties = properties;
+        this.onKeysRevoked = onKeysRevoked;
+    }
+
+    /**
+     * Loads the keys, failing if none is configured or any cannot be read, and starts polling the JWKS
+     * file when {@code jwt.jwks.refresh-interval} is set.
+     */
+    public void start() {
+        try {
+            reload(true);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Could not load JWT verification keys", e);
+        }
+        if (keySet.defaultKey() == null && keySet.byKid().isEmpty()) {
+            throw new IllegalStateException("No JWT verification key configured: set jwt.secret, jwt.keys or jwt.jwks.location");
+        }
+
+        JwtProperties.Jwks jwks = properties.getJwks();
+        Duration interval = jwks.getRefreshInterval();
+        if (jwks.getLocation() != null && interval != null && !interval.isZero() && !interval.isNegative()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "jwt-jwks-refresh");
+                t.setDaemon(true);
+                return t;
+            });
+            long intervalMillis = interval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::refreshSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Re-reads the JWKS file if it changed since the last load.
+     */
+    public void refresh() throws IOException, GeneralSecurityException {
+        reload(false);
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public int size() {
+        KeySet current = keySet;
+        return current.byKid().size() + (current.defaultKey() != null ? 1 : 0);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        return resolve(header.getKeyId());
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Key resolveSigningKey(JwsHeader header, String plaintext) {
+        return resolve(header.getKeyId());
+    }
+
+    private Key resolve(String kid) {
+        KeySet current = keySet;
+        Key key = kid != null ? current.byKid().get(kid) : current.defaultKey();
+        if (key == null) {
+            throw new JwtException(kid != null ? "Unknown JWT key id " + kid : "JWT has no key id and no default key is configured");
+        }
+        return key;
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("JWT: reloading keys from {} failed, keeping the current keys", properties.getJwks().getLocation(), e);
+        }
+    }
+
+    private void reload(boolean force) throws IOException, GeneralSecurityException {
+        reloadLock.lock();
+        try {
+            String location = properties.getJwks().getLocation();
+            FileTime modified = location != null ? Files.getLastModifiedTime(Path.of(location)) : null;
+            if (!force && Objects.equals(modified, jwksModified)) return;
+
+            Map<String, Key> byKid = new HashMap<>();
+            for (JwtProperties.VerificationKey configured : properties.getKeys()) {
+                byKid.put(configured.getKid(), parseConfiguredKey(configured));
+            }
+            if (location != null) {
+                byKid.putAll(parseJwks(Files.readAllBytes(Path.of(location))));
+            }
+            String secret = properties.getSecret();
+            Key defaultKey = secret != null && !secret.isBlank() ? Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret)) : null;
+
+            KeySet previous = keySet;
+            keySet = new KeySet(defaultKey, Map.copyOf(byKid));
+            jwksModified = modified;
+            if (location != null) {
+                log.info("JWT: loaded {} verification keys from {}", byKid.size(), location);
+            }
+            if (revokes(previous, keySet)) {
+                onKeysRevoked.run();
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private static boolean revokes(KeySet previous, KeySet next) {
+        if (previous.defaultKey() != null && !previous.defaultKey().equals(next.defaultKey())) return true;
+        for (Map.Entry<String, Key> entry : previous.byKid().entrySet()) {
+            if (!entry.getValue().equals(next.byKid().get(entry.getKey()))) return true;
+        }
+        return false;
+    }
+
+    private static Key parseConfiguredKey(JwtProperties.VerificationKey configured) throws GeneralSecurityException {
+        if (configured.getKid() == null) {
+            throw new InvalidKeySpecException("jwt.keys entry without kid");
+        }
+        if (configured.getSecret() != null) {
+            return Keys.hmacShaKeyFor(Base64.getDecoder().decode(configured.getSecret()));
+        }
+        if (configured.getPublicKey() != null) {
+            return parsePublicKey(configured.getPublicKey());
+        }
+        throw new InvalidKeySpecException("jwt.keys entry " + configured.getKid() + " has neither secret nor public-key");
+    }
+
+    /**
+     * PEM or bare base64 of an X.509 {@code SubjectPublicKeyInfo}, RSA or EC.
+     */
+    private static Key parsePublicKey(String encoded) throws GeneralSecurityException {
+        String base64 = encoded.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        X509EncodedKeySpec spec = new X509EncodedKeySpec(Base64.getDecoder().decode(base64));
+        try {
+            return KeyFactory.getInstance("RSA").generatePublic(spec);
+        } catch (InvalidKeySpecException notRsa) {
+            return KeyFactory.getInstance("EC").generatePublic(spec);
+        }
+    }
+
+    private static Map<String, Key> parseJwks(byte[] json) throws IOException, GeneralSecurityException {
+        Map<String, Key> keys = new HashMap<>();
+        for (JsonNode jwk : MAPPER.readTree(json).path("keys")) {
+            String kid = jwk.path("kid").asText(null);
+            String use = jwk.path("use").asText("sig");
+            if (kid == null || !"sig".equals(use)) continue;
+            keys.put(kid, parseJwk(jwk));
+        }
+        return keys;
+    }
+
+    private static Key parseJwk(JsonNode jwk) throws GeneralSecurityException {
+        String kty = jwk.path("kty").asText();
+        return switch (kty) {
+            case "oct" -> Keys.hmacShaKeyFor(base64Url(jwk, "k"));
+            case "RSA" -> KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                    new BigInteger(1, base64Url(jwk, "n")), new BigInteger(1, base64Url(jwk, "e"))));
+            case "EC" -> parseEcJwk(jwk);
+            default -> throw new InvalidKeySpecException("Unsupported JWK key type " + kty + " for kid " + jwk.path("kid").asText());
+        };
+    }
+
+    private static Key parseEcJwk(JsonNode jwk) throws GeneralSecurityException {
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec(curveName(jwk.path("crv").asText())));
+        ECPoint point = new ECPoint(new BigInteger(1, base64Url(jwk, "x")), new BigInteger(1, base64Url(jwk, "y")));
+        return KeyFactory.getInstance("EC").generatePublic(
+                new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+    }
+
+    private static String curveName(String crv) throws InvalidKeySpecException {
+        return switch (crv) {
+            case "P-256" -> "secp256r1";
+            case "P-384" -> "secp384r1";
+            case "P-521" -> "secp521r1";
+            default -> throw new InvalidKeySpecException("Unsupported JWK curve " + crv);
+        };
+    }
+
+    private static byte[] base64Url(JsonNode jwk, String field) throws InvalidKeySpecException {
+        String value = jwk.path(field).asText(null);
+        if (value == null) {
+            throw new InvalidKeySpecException("JWK " + jwk.path("kid").asText() + " is missing " + field);
+        }
+        return Base64.getUrlDecoder().decode(value);
+    }
+
+    private record KeySet(Key defaultKey, Map<String, Key> byKid) {}
+}
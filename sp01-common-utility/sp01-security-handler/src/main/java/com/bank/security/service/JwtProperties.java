@@ -5,11 +5,48 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @ConfigurationProperties(prefix = "jwt")
 @Setter
 @Getter
 public class JwtProperties {
 
+    // checks tokens without a kid header
     private String secret;
+    private List<VerificationKey> keys = new ArrayList<>();
+    private Jwks jwks = new Jwks();
+    private Cache cache = new Cache();
+
+    @Setter
+    @Getter
+    public static class VerificationKey {
+
+        private String kid;
+        // base64 HMAC secret, or an RSA/EC public key as PEM or base64 X.509
+        private String secret;
+        private String publicKey;
+    }
+
+    @Setter
+    @Getter
+    public static class Jwks {
+
+        // local JWKS file, re-read when it changes; its keys win over jwt.keys with the same kid
+        private String location;
+        private Duration refreshInterval = Duration.ofSeconds(30);
+    }
+
+    @Setter
+    @Getter
+    public static class Cache {
+
+        // verified tokens are kept until their exp, but never longer than maxTtl
+        private boolean enabled = true;
+        private int maxSize = 10_000;
+        private Duration maxTtl = Duration.ofMinutes(5);
+    }
 }
@@ -2,25 +2,33 @@ package com.bank.security.service;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-import java.util.Base64;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class JwtService {
 
-    private SecretKey key;
+    // roles are a small fixed set, so authorities are shared instead of built per request
+    private static final int MAX_INTERNED_AUTHORITIES = 256;
+    private static final Map<String, SimpleGrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private JwtKeyRegistry keyRegistry;
+    private JwtParser parser;
+    private VerifiedTokenCache tokenCache;
     private final JwtProperties jwtProperties;
 
     public JwtService(JwtProperties jwtProperties) {
@@ -29,36 +37,106 @@ public class JwtService {
 
     @PostConstruct
     public void init() {
-        byte[] keyBytes = Base64.getDecoder().decode(jwtProperties.getSecret());
-        this.key = Keys.hmacShaKeyFor(keyBytes);
+        JwtProperties.Cache cache = jwtProperties.getCache();
+        this.tokenCache = cache.isEnabled()
+                ? new VerifiedTokenCache(cache.getMaxSize(), cache.getMaxTtl().toMillis())
+                : null;
+
+        this.keyRegistry = new JwtKeyRegistry(jwtProperties, this::onKeysRevoked);
+        keyRegistry.start();
+        // parsers are immutable and thread-safe, one is enough; keys are resolved per token by kid
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyRegistry)
+                .build();
     }
 
-    public boolean isTokenValid(String token) {
+    @PreDestroy
+    public void close() {
+        keyRegistry.close();
+    }
+
+    /**
+     * Verifies the token and builds its {@link Authentication} in one pass; tokens verified before are
+     * served from the cache until they expire.
+     *
+     * @return the authentication, or {@code null} if the token is not valid
+     */
+    public Authentication authenticate(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
+            return getAuthentication(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
     }
 
+    public boolean isTokenValid(String token) {
+        return authenticate(token) != null;
+    }
+
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        if (tokenCache == null) {
+            return toAuthentication(toPrincipal(parser.parseClaimsJws(token).getBody()), token);
+        }
 
-        String username = claims.getSubject();
-        List<String> roles = claims.get("roles", List.class);
+        long now = System.currentTimeMillis();
+        long generation = tokenCache.generation();
+        VerifiedTokenCache.TokenDigest digest = VerifiedTokenCache.TokenDigest.of(token);
+        VerifiedTokenCache.VerifiedPrincipal principal = tokenCache.get(digest, now);
+        if (principal == null) {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            principal = toPrincipal(claims);
+            Date expiration = claims.getExpiration();
+            tokenCache.put(digest, principal, expiration != null ? expiration.getTime() : null, now, generation);
+        }
+        return toAuthentication(principal, token);
+    }
 
-        List<GrantedAuthority> authorities = roles != null
-                ? roles.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList())
-                : Collections.emptyList();
+    public JwtKeyRegistry getKeyRegistry() {
+        return keyRegistry;
+    }
 
-        return new UsernamePasswordAuthenticationToken(username, token, authorities);
+    /**
+     * @return the verified-token cache, or {@code null} when {@code jwt.cache.enabled} is false
+     */
+    public VerifiedTokenCache getTokenCache() {
+        return tokenCache;
+    }
+
+    private void onKeysRevoked() {
+        if (tokenCache != null) {
+            tokenCache.clear();
+        }
+    }
+
+    // a fresh token per request: Authentication is mutable, and credentials must be this request's token
+    private static Authentication toAuthentication(VerifiedTokenCache.VerifiedPrincipal principal, String token) {
+        return new UsernamePasswordAuthenticationToken(principal.subject(), token, principal.authorities());
+    }
+
+    private static VerifiedTokenCache.VerifiedPrincipal toPrincipal(Claims claims) {
+        List<?> roles = claims.get("roles", List.class);
+
+        List<GrantedAuthority> authorities;
+        if (roles == null || roles.isEmpty()) {
+            authorities = Collections.emptyList();
+        } else {
+            authorities = new ArrayList<>(roles.size());
+            for (Object role : roles) {
+                authorities.add(authority(String.valueOf(role)));
+            }
+        }
+
+        return new VerifiedTokenCache.VerifiedPrincipal(claims.getSubject(), authorities);
+    }
+
+    private static SimpleGrantedAuthority authority(String role) {
+        SimpleGrantedAuthority authority = AUTHORITIES.get(role);
+        if (authority != null) return authority;
+        authority = new SimpleGrantedAuthority(role);
+        if (AUTHORITIES.size() < MAX_INTERNED_AUTHORITIES) {
+            SimpleGrantedAuthority existing = AUTHORITIES.putIfAbsent(role, authority);
+            if (existing != null) return existing;
+        }
+        return authority;
     }
 }
@@ -0,0 +1,168 @@
+package com.bank.security.service;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of tokens that already passed signature verification, keyed by the SHA-256 of the token.
+ * Only the verified subject and authorities are kept, never the token itself or an {@code Authentication},
+ * so raw tokens are not retained on the heap and no mutable object is shared between requests.
+ * An entry lives until the token's own {@code exp} or at most {@code maxTtlMillis}, whichever comes first.
+ * <p>
+ * Lookups never lock: entries sit in a {@link ConcurrentHashMap} and the bound is kept by sampled
+ * eviction on insert, which drops an expired or the least recently used of a few entries. Usage is
+ * stamped at most once a second per entry, so hits on a hot token do not keep writing to it.
+ */
+public class VerifiedTokenCache {
+
+    private static final int EVICTION_SAMPLE = 8;
+    private static final long ACCESS_STAMP_GRANULARITY_MILLIS = 1_000;
+
+    private final ConcurrentHashMap<TokenDigest, Entry> entries = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final long maxTtlMillis;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong generation = new AtomicLong();
+
+    public VerifiedTokenCache(int maxSize, long maxTtlMillis) {
+        this.capacity = Math.max(1, maxSize);
+        this.maxTtlMillis = maxTtlMillis;
+    }
+
+    /**
+     * @return the cached principal, or {@code null} when the token is unknown or expired
+     */
+    public VerifiedPrincipal get(TokenDigest digest, long nowMillis) {
+        Entry entry = entries.get(digest);
+        if (entry != null && entry.expiresAtMillis <= nowMillis) {
+            entries.remove(digest, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        if (nowMillis - entry.lastAccessMillis >= ACCESS_STAMP_GRANULARITY_MILLIS) {
+            entry.lastAccessMillis = nowMillis;
+        }
+        return entry.principal;
+    }
+
+    /**
+     * Read before verifying a token and passed to {@link #put}, so a verification that raced with
+     * {@link #clear()} is not cached.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * @param tokenExpiresAtMillis the token's {@code exp}, or {@code null} when it has none
+     */
+    public void put(TokenDigest digest, VerifiedPrincipal principal, Long tokenExpiresAtMillis, long nowMillis,
+                    long generation) {
+        long expiresAt = nowMillis + maxTtlMillis;
+        if (tokenExpiresAtMillis != null) {
+            expiresAt = Math.min(expiresAt, tokenExpiresAtMillis);
+        }
+        if (expiresAt <= nowMillis || generation != this.generation.get()) return;
+
+        if (entries.size() >= capacity && !entries.containsKey(digest)) {
+            evict(nowMillis);
+        }
+        Entry entry = new Entry(principal, expiresAt, nowMillis);
+        entries.put(digest, entry);
+        // clear() bumps the generation before emptying the map; if it ran meanwhile, take the entry back out
+        if (generation != this.generation.get()) {
+            entries.remove(digest, entry);
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    // digests are uniformly distributed, so the first entries of an iteration are a fair random sample
+    private void evict(long nowMillis) {
+        Map.Entry<TokenDigest, Entry> victim = null;
+        Iterator<Map.Entry<TokenDigest, Entry>> it = entries.entrySet().iterator();
+        for (int i = 0; i < EVICTION_SAMPLE && it.hasNext(); i++) {
+            Map.Entry<TokenDigest, Entry> candidate = it.next();
+            if (candidate.getValue().expiresAtMillis <= nowMillis) {
+                victim = candidate;
+                break;
+            }
+            if (victim == null || candidate.getValue().lastAccessMillis < victim.getValue().lastAccessMillis) {
+                victim = candidate;
+            }
+        }
+        if (victim != null) {
+            entries.remove(victim.getKey(), victim.getValue());
+        }
+    }
+
+    private static final class Entry {
+
+        private final VerifiedPrincipal principal;
+        private final long expiresAtMillis;
+        // racy by design: a lost update only makes eviction slightly less accurate
+        private volatile long lastAccessMillis;
+
+        private Entry(VerifiedPrincipal principal, long expiresAtMillis, long lastAccessMillis) {
+            this.principal = principal;
+            this.expiresAtMillis = expiresAtMillis;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+    }
+
+    /**
+     * What a verified token grants: its subject and its authorities, which are immutable and shared.
+     */
+    public record VerifiedPrincipal(String subject, List<GrantedAuthority> authorities) {
+
+        public VerifiedPrincipal {
+            authorities = List.copyOf(authorities);
+        }
+    }
+
+    /**
+     * SHA-256 of a token as four longs, cheap to compare and hash.
+     */
+    public record TokenDigest(long a, long b, long c, long d) {
+
+        public static TokenDigest of(String token) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+                ByteBuffer buffer = ByteBuffer.wrap(digest);
+                return new TokenDigest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.bank.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRateLimiterTest {
+
+    // refills so slowly that no token comes back while a test runs
+    private static final TokenBucketRateLimiter.Limit NO_REFILL = TokenBucketRateLimiter.Limit.of(3, 0.001);
+
+    @Test
+    void precomputesTheGcraIntervals() {
+        TokenBucketRateLimiter.Limit limit = TokenBucketRateLimiter.Limit.of(10, 50);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(20), limit.intervalNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), limit.burstNanos());
+    }
+
+    @Test
+    void rejectsLimitsThatCannotAdmitAnything() {
+        assertThrows(IllegalArgumentException.class, () -> TokenBucketRateLimiter.Limit.of(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> TokenBucketRateLimiter.Limit.of(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> TokenBucketRateLimiter.Limit.of(10, -1));
+    }
+
+    @Test
+    void allowsTheBurstThenReportsTheWait() {
+        TokenBucketRateLimiter limiter = limiter(100, 4);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("alice", NO_REFILL));
+        }
+        long waitNanos = limiter.tryAcquire("alice", NO_REFILL);
+
+        assertTrue(waitNanos > 0 && waitNanos <= NO_REFILL.intervalNanos(), "wait " + waitNanos);
+        assertEquals(3, limiter.getAllowed());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeTokens() {
+        TokenBucketRateLimiter limiter = limiter(100, 4);
+        TokenBucketRateLimiter.Limit limit = TokenBucketRateLimiter.Limit.of(1, 20);
+
+        assertEquals(0, limiter.tryAcquire("alice", limit));
+        long firstWait = limiter.tryAcquire("alice", limit);
+        long secondWait = limiter.tryAcquire("alice", limit);
+
+        assertTrue(secondWait > 0 && secondWait <= firstWait);
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        TokenBucketRateLimiter limiter = limiter(100, 4);
+        TokenBucketRateLimiter.Limit limit = TokenBucketRateLimiter.Limit.of(1, 100);
+
+        assertEquals(0, limiter.tryAcquire("alice", limit));
+        long waitNanos = limiter.tryAcquire("alice", limit);
+        assertTrue(waitNanos > 0);
+
+        TimeUnit.NANOSECONDS.sleep(waitNanos + TimeUnit.MILLISECONDS.toNanos(5));
+        assertEquals(0, limiter.tryAcquire("alice", limit));
+    }
+
+    @Test
+    void keepsCallerAndGroupBucketsApart() {
+        TokenBucketRateLimiter limiter = limiter(100, 4);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("ROLE_PARTNER", NO_REFILL);
+        }
+
+        assertTrue(limiter.tryAcquire("ROLE_PARTNER", NO_REFILL) > 0);
+        assertEquals(0, limiter.tryAcquireShared("ROLE_PARTNER", NO_REFILL));
+        assertEquals(0, limiter.tryAcquire("bob", NO_REFILL));
+        assertEquals(3, limiter.size());
+    }
+
+    @Test
+    void sharesTheOverflowBucketOnceTheStripeIsFull() {
+        TokenBucketRateLimiter limiter = limiter(1, 1);
+
+        assertEquals(0, limiter.tryAcquire("alice", NO_REFILL));
+        // bucket bound reached: bob and carol draw from the same overflow bucket
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire(i % 2 == 0 ? "bob" : "carol", NO_REFILL));
+        }
+
+        assertTrue(limiter.tryAcquire("carol", NO_REFILL) > 0);
+        assertEquals(0, limiter.tryAcquire("alice", NO_REFILL));
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void sweepsBucketsThatRefilledCompletely() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 1, Duration.ZERO);
+        TokenBucketRateLimiter.Limit fast = TokenBucketRateLimiter.Limit.of(1, 1_000_000);
+
+        limiter.tryAcquire("alice", fast);
+        limiter.tryAcquireShared("ROLE_USER", fast);
+        limiter.tryAcquire("bob", NO_REFILL);
+        TimeUnit.MILLISECONDS.sleep(5);
+        limiter.tryAcquire("carol", NO_REFILL);
+
+        // alice and ROLE_USER are full again, bob still owes tokens
+        assertEquals(2, limiter.getEvicted());
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void neverAdmitsMoreThanTheBurstUnderContention() throws Exception {
+        TokenBucketRateLimiter limiter = limiter(100, 4);
+        TokenBucketRateLimiter.Limit limit = TokenBucketRateLimiter.Limit.of(1000, 0.001);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int allowed = 0;
+                    for (int i = 0; i < 500; i++) {
+                        if (limiter.tryAcquire("alice", limit) == 0) allowed++;
+                    }
+                    return allowed;
+                }));
+            }
+            start.countDown();
+            int allowed = 0;
+            for (Future<Integer> result : results) {
+                allowed += result.get(10, TimeUnit.SECONDS);
+            }
+
+            assertEquals(1000, allowed);
+            assertEquals(1000, limiter.getAllowed());
+            assertEquals(threads * 500 - 1000, limiter.getRejected());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TokenBucketRateLimiter limiter(int maxBuckets, int stripes) {
+        return new TokenBucketRateLimiter(maxBuckets, stripes, Duration.ofHours(1));
+    }
+}